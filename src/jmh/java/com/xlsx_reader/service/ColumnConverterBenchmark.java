@@ -0,0 +1,62 @@
+package com.xlsx_reader.service;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ColumnConverterBenchmark {
+
+    private final EmployeeColumns columns = ColumnSchema.DEFAULT.fixedColumns();
+    private BufferedSheetRow row;
+
+    @Setup
+    public void setUp() {
+        row = new BufferedSheetRow();
+        row.reset(XlsxReaderService.HEADER_ROWS_TO_SKIP);
+        row.setNumeric(XlsxReaderService.ID_COL, 42);
+        row.setString(XlsxReaderService.EMAIL_COL, "john@example.com");
+        row.setNumeric(XlsxReaderService.PHONE_COL, 33_612_345_678L);
+        row.setBoolean(XlsxReaderService.HAS_CHILDREN_COL, true);
+        row.setNumeric(XlsxReaderService.AGE_COL, 30);
+    }
+
+    @Benchmark
+    public String stringFromString() throws Exception {
+        return columns.email.read(row);
+    }
+
+    @Benchmark
+    public String stringFromNumeric() throws Exception {
+        return columns.phone.read(row);
+    }
+
+    @Benchmark
+    public long longFromNumeric() throws Exception {
+        return columns.id.read(row, 0);
+    }
+
+    @Benchmark
+    public int intFromNumeric() throws Exception {
+        return columns.age.read(row);
+    }
+
+    @Benchmark
+    public boolean booleanFromBoolean() throws Exception {
+        return columns.hasChildren.read(row);
+    }
+}
@@ -0,0 +1,22 @@
+package com.xlsx_reader.service;
+
+import org.openjdk.jmh.annotations.Param;
+
+public class ReadEmployeesBenchmark extends ReadEmployeesBenchmarkBase {
+
+    @Param({ "1000", "100000" })
+    int rows;
+
+    @Param({ "DOM", "STREAMING" })
+    ReadMode readMode;
+
+    @Override
+    int rows() {
+        return rows;
+    }
+
+    @Override
+    ReadMode readMode() {
+        return readMode;
+    }
+}
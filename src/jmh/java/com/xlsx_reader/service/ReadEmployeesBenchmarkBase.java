@@ -0,0 +1,92 @@
+package com.xlsx_reader.service;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 3)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+// DOM keeps the whole sheet in memory, so it is only measured up to 100k rows; the 1M-row runs are
+// streaming-only, see StreamingReadEmployeesBenchmark
+public abstract class ReadEmployeesBenchmarkBase {
+    private static final EmployeeQuery UNDER_20_NAMES = EmployeeQuery.all()
+            .ageBetween(0, 19)
+            .fields(EmployeeField.FIRST_NAME, EmployeeField.LAST_NAME);
+
+    @Param({ "0.5" })
+    double individualRatio;
+
+    @Param({ "0" })
+    int stringPoolSize;
+
+    @Param({ "false" })
+    boolean metrics;
+
+    private Path file;
+    private XlsxReaderService reader;
+
+    abstract int rows();
+
+    abstract ReadMode readMode();
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        file = SyntheticWorkbook.create(rows(), individualRatio);
+        reader = new XlsxReaderService(readMode());
+        reader.setStringPoolSize(stringPoolSize);
+        if (metrics)
+            reader.setMetrics(new ReadMetrics());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    @Benchmark
+    public int readEmployees() throws Exception {
+        return reader.readEmployees(file.toString()).size();
+    }
+
+    @Benchmark
+    public void forEachEmployee(Blackhole blackhole) throws Exception {
+        reader.forEachEmployee(file.toString(), blackhole::consume);
+    }
+
+    @Benchmark
+    public int queryIndividualsUnder20Names() throws Exception {
+        return reader.query(file.toString(), UNDER_20_NAMES).size();
+    }
+
+    @Benchmark
+    public void forEachEmployeeParallel(Blackhole blackhole) throws Exception {
+        reader.forEachEmployeeParallel(file.toString(), ForkJoinPool.commonPool(),
+                blackhole::consume);
+    }
+
+    @Benchmark
+    public void forEachEmployeePipelined(Blackhole blackhole) throws Exception {
+        reader.forEachEmployeePipelined(file.toString(), PipelineOptions.defaults(), blackhole::consume);
+    }
+}
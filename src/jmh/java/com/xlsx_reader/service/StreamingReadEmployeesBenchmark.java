@@ -0,0 +1,19 @@
+package com.xlsx_reader.service;
+
+import org.openjdk.jmh.annotations.Param;
+
+public class StreamingReadEmployeesBenchmark extends ReadEmployeesBenchmarkBase {
+
+    @Param({ "1000000" })
+    int rows;
+
+    @Override
+    int rows() {
+        return rows;
+    }
+
+    @Override
+    ReadMode readMode() {
+        return ReadMode.STREAMING;
+    }
+}
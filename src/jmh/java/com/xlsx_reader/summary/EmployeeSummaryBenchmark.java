@@ -0,0 +1,103 @@
+package com.xlsx_reader.summary;
+
+import com.xlsx_reader.domain.BankAccount;
+import com.xlsx_reader.domain.Company;
+import com.xlsx_reader.domain.CompanyType;
+import com.xlsx_reader.domain.Employee;
+import com.xlsx_reader.domain.Individual;
+import com.xlsx_reader.store.EmployeeStore;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 3)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class EmployeeSummaryBenchmark {
+
+    @Param({ "1000", "100000", "1000000" })
+    int rows;
+
+    @Param({ "0.5" })
+    double individualRatio;
+
+    private List<Employee> employees;
+    private EmployeeStore store;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(rows);
+        BankAccount bankAccount = new BankAccount("FR7610000000000", "DEUTDEFF", "Holder");
+        employees = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            if (random.nextDouble() < individualRatio) {
+                employees.add(new Individual(i + 1, "e" + i + "@example.com", "0600000000", "1 Main St",
+                        bankAccount, "First" + i, "Last" + i, random.nextBoolean(), 16 + random.nextInt(60)));
+            } else {
+                employees.add(new Company(i + 1, "e" + i + "@example.com", "0600000000", "1 Main St",
+                        bankAccount, "Company " + i, random.nextBoolean() ? CompanyType.SARS : CompanyType.SARL));
+            }
+        }
+
+        EmployeeStore.Builder builder = new EmployeeStore.Builder();
+        employees.forEach(builder);
+        store = builder.build();
+    }
+
+    @Benchmark
+    public EmployeeSummary singlePass() {
+        EmployeeSummary summary = new EmployeeSummary();
+        employees.forEach(summary);
+        return summary;
+    }
+
+    @Benchmark
+    public EmployeeSummary columnar() {
+        EmployeeSummary summary = new EmployeeSummary();
+        summary.accept(store);
+        return summary;
+    }
+
+    @Benchmark
+    public EmployeeSummary singlePassWithBreakdown() {
+        EmployeeSummary summary = new EmployeeSummary()
+                .register(GroupCountAggregate.byCompanyType())
+                .register(GroupCountAggregate.byHasChildren())
+                .register(GroupCountAggregate.byAgeBucket(10));
+        employees.forEach(summary);
+        return summary;
+    }
+
+    // the four stream passes Main.printSummary used before EmployeeSummary, kept as the baseline
+    @Benchmark
+    public void fourPasses(Blackhole blackhole) {
+        blackhole.consume(employees.stream().filter(e -> e instanceof Individual).count());
+        blackhole.consume(employees.stream().filter(e -> e instanceof Company).count());
+        blackhole.consume(employees.stream()
+                .filter(e -> e instanceof Individual)
+                .map(e -> (Individual) e)
+                .filter(i -> i.getAge() < 20)
+                .count());
+        employees.stream()
+                .filter(e -> e instanceof Individual)
+                .map(e -> (Individual) e)
+                .forEach(i -> blackhole.consume(i.getFirstName() + " " + i.getLastName()));
+    }
+}
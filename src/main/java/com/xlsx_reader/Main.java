@@ -1,23 +1,191 @@
 package com.xlsx_reader;
 
+import com.xlsx_reader.batch.BatchFiles;
+import com.xlsx_reader.batch.BatchReaderService;
+import com.xlsx_reader.batch.BatchResult;
+import com.xlsx_reader.cache.ParseCache;
 import com.xlsx_reader.domain.Employee;
+import com.xlsx_reader.daemon.InboxDaemon;
 import com.xlsx_reader.exception.ExcelParsingException;
 import com.xlsx_reader.exception.InvalidFilePathException;
+import com.xlsx_reader.export.EmployeeSink;
+import com.xlsx_reader.export.ExportFormat;
+import com.xlsx_reader.incremental.IncrementalReader;
+import com.xlsx_reader.index.EmployeeIndex;
+import com.xlsx_reader.service.ColumnSchema;
+import com.xlsx_reader.service.EmployeeValidator;
+import com.xlsx_reader.service.ErrorReport;
+import com.xlsx_reader.service.PipelineOptions;
+import com.xlsx_reader.service.ReadMetrics;
+import com.xlsx_reader.service.ReadMode;
+import com.xlsx_reader.service.SheetSelection;
+import com.xlsx_reader.service.Watermark;
 import com.xlsx_reader.service.XlsxReaderService;
+import com.xlsx_reader.summary.EmployeeSummary;
+import com.xlsx_reader.summary.GroupCountAggregate;
 
+import javax.management.JMException;
 import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
 
 public class Main {
+    private static final int AGE_BUCKET_SIZE = 10;
+    private static final int STRING_POOL_SIZE = 1 << 16;
+    private static final long CACHE_SIZE_BYTES = 1L << 30;
+    private static final int MAX_REPORTED_ERRORS = 1000;
+    private static final int MAX_LISTED_NAMES = 10_000;
+    private static final long DAEMON_SHUTDOWN_SECONDS = 60;
+
     public static void main(String[] args) {
-        if (args.length < 1) {
+        String filePath = null;
+        ReadMode readMode = ReadMode.DOM;
+        boolean breakdown = false;
+        boolean batch = false;
+        boolean parallel = false;
+        boolean pipelined = false;
+        int pipelineBatchSize = PipelineOptions.DEFAULT_BATCH_SIZE;
+        int pipelineQueueDepth = PipelineOptions.DEFAULT_QUEUE_DEPTH;
+        boolean dedup = false;
+        boolean columnar = false;
+        boolean stats = false;
+        boolean lenient = false;
+        boolean index = false;
+        boolean validate = false;
+        SheetSelection sheets = null;
+        String cacheDirectory = null;
+        String incrementalDirectory = null;
+        String exportFile = null;
+        String daemonOutbox = null;
+        ExportFormat daemonExport = null;
+        ColumnSchema schema = ColumnSchema.DEFAULT;
+        int threads = BatchReaderService.defaultThreads();
+        boolean threadsSet = false;
+        boolean pipelineOptionsSet = false;
+        for (String arg : args) {
+            if (arg.equals("--streaming")) {
+                readMode = ReadMode.STREAMING;
+            } else if (arg.equals("--breakdown")) {
+                breakdown = true;
+            } else if (arg.equals("--parallel")) {
+                parallel = true;
+            } else if (arg.equals("--pipelined")) {
+                pipelined = true;
+            } else if (arg.startsWith("--pipeline-batch=")) {
+                pipelineBatchSize = parsePositiveInt(arg.substring("--pipeline-batch=".length()), "--pipeline-batch");
+                pipelineOptionsSet = true;
+            } else if (arg.startsWith("--pipeline-depth=")) {
+                pipelineQueueDepth = parsePositiveInt(arg.substring("--pipeline-depth=".length()), "--pipeline-depth");
+                pipelineOptionsSet = true;
+            } else if (arg.startsWith("--cache=")) {
+                cacheDirectory = arg.substring("--cache=".length());
+            } else if (arg.startsWith("--incremental=")) {
+                incrementalDirectory = arg.substring("--incremental=".length());
+            } else if (arg.startsWith("--export=")) {
+                exportFile = arg.substring("--export=".length());
+            } else if (arg.startsWith("--daemon=")) {
+                daemonOutbox = arg.substring("--daemon=".length());
+            } else if (arg.startsWith("--daemon-export=")) {
+                daemonExport = parseExportFormat(arg.substring("--daemon-export=".length()));
+            } else if (arg.equals("--columnar")) {
+                columnar = true;
+            } else if (arg.startsWith("--sheets=")) {
+                sheets = SheetSelection.parse(arg.substring("--sheets=".length()));
+            } else if (arg.equals("--lenient")) {
+                lenient = true;
+            } else if (arg.equals("--validate")) {
+                validate = true;
+            } else if (arg.equals("--index")) {
+                index = true;
+            } else if (arg.equals("--stats")) {
+                stats = true;
+            } else if (arg.equals("--dedup")) {
+                dedup = true;
+            } else if (arg.equals("--header")) {
+                schema = ColumnSchema.byHeader();
+            } else if (arg.startsWith("--mapping=")) {
+                schema = loadSchema(arg.substring("--mapping=".length()));
+            } else if (arg.equals("--batch")) {
+                batch = true;
+            } else if (arg.startsWith("--threads=")) {
+                threads = parsePositiveInt(arg.substring("--threads=".length()), "--threads");
+                threadsSet = true;
+            } else if (filePath == null) {
+                filePath = arg;
+            }
+        }
+
+        if (filePath == null) {
             System.err.println("Please provide the path to the xlsx file");
             System.exit(1);
         }
 
-        String filePath = args[0];
+        // each of these picks a different read path, so only one of them can be honoured
+        List<String> modes = new ArrayList<>();
+        addIf(modes, incrementalDirectory != null, "--incremental");
+        addIf(modes, sheets != null, "--sheets");
+        addIf(modes, cacheDirectory != null, "--cache");
+        addIf(modes, columnar, "--columnar");
+        addIf(modes, parallel, "--parallel");
+        addIf(modes, pipelined, "--pipelined");
+        addIf(modes, index, "--index");
+        addIf(modes, lenient, "--lenient");
+        addIf(modes, batch, "--batch");
+        addIf(modes, daemonOutbox != null, "--daemon");
+        if (modes.size() > 1) {
+            exitWithError(modes.get(0) + " cannot be combined with " + modes.get(1));
+        }
+        if (exportFile != null && (sheets != null || cacheDirectory != null || columnar || parallel || batch
+                || daemonOutbox != null)) {
+            exitWithError("--export cannot be combined with --sheets, --cache, --columnar, --parallel, --batch or --daemon");
+        }
+        if (daemonExport != null && daemonOutbox == null) {
+            exitWithError("--daemon-export requires --daemon");
+        }
+        if (pipelineOptionsSet && !pipelined) {
+            exitWithError("--pipeline-batch and --pipeline-depth require --pipelined");
+        }
+        if (threadsSet && sheets == null && !parallel && !pipelined && !batch && daemonOutbox == null) {
+            exitWithError("--threads requires --sheets, --parallel, --pipelined, --batch or --daemon");
+        }
+
+        XlsxReaderService XlsxReaderService = new XlsxReaderService(readMode, schema);
+        if (dedup) {
+            XlsxReaderService.setStringPoolSize(STRING_POOL_SIZE);
+        }
+        if (stats) {
+            XlsxReaderService.setMetrics(openMetrics());
+        }
+        if (validate) {
+            XlsxReaderService.setValidator(EmployeeValidator.standard());
+        }
+
+        EmployeeSummary summary = new EmployeeSummary().limitNames(MAX_LISTED_NAMES);
+        if (breakdown) {
+            summary.register(GroupCountAggregate.byCompanyType())
+                    .register(GroupCountAggregate.byHasChildren())
+                    .register(GroupCountAggregate.byAgeBucket(AGE_BUCKET_SIZE));
+        }
+
+        if (daemonOutbox != null) {
+            runDaemon(XlsxReaderService, filePath, daemonOutbox, daemonExport, threads, summary);
+            return;
+        }
+
+        if (batch) {
+            runBatch(XlsxReaderService, filePath, threads, summary);
+            return;
+        }
 
         try {
             validateFilePath(filePath);
@@ -26,45 +194,257 @@ public class Main {
             System.exit(1);
         }
 
-        XlsxReaderService XlsxReaderService = new XlsxReaderService();
+        EmployeeSink sink = exportFile != null ? openExport(exportFile) : null;
+        Consumer<Employee> consumer = sink != null ? summary.andThen(sink) : summary;
 
-        List<Employee> employees = new ArrayList<Employee>();
+        Watermark watermark = null;
+        ErrorReport errors = null;
+        EmployeeIndex employeeIndex = null;
+        long started = System.nanoTime();
         try {
-            employees.addAll(XlsxReaderService.readEmployees(filePath));
+            if (incrementalDirectory != null) {
+                watermark = openIncremental(XlsxReaderService, incrementalDirectory).forEachNewEmployee(filePath, consumer);
+            } else if (sheets != null) {
+                readSheets(XlsxReaderService, filePath, sheets, threads, summary);
+            } else if (cacheDirectory != null) {
+                summary.accept(openCache(XlsxReaderService, cacheDirectory).readColumnar(filePath));
+            } else if (columnar) {
+                summary.accept(XlsxReaderService.readColumnar(filePath));
+            } else if (parallel) {
+                ForkJoinPool pool = new ForkJoinPool(threads);
+                try {
+                    XlsxReaderService.forEachEmployeeParallel(filePath, pool, summary);
+                } finally {
+                    pool.shutdown();
+                }
+            } else if (pipelined) {
+                PipelineOptions options = new PipelineOptions(threads, pipelineBatchSize, pipelineQueueDepth);
+                XlsxReaderService.forEachEmployeePipelined(filePath, options, consumer);
+            } else if (index) {
+                employeeIndex = XlsxReaderService.readIndexed(filePath);
+                employeeIndex.getEmployees().forEach(consumer);
+            } else if (lenient) {
+                errors = new ErrorReport(MAX_REPORTED_ERRORS);
+                XlsxReaderService.forEachEmployee(filePath, errors, consumer);
+            } else {
+                XlsxReaderService.forEachEmployee(filePath, consumer);
+            }
+            if (sink != null) {
+                sink.close();
+            }
         } catch (ExcelParsingException e) {
             System.err.println(e.getMessage());
             System.exit(1);
+        } catch (IOException | UncheckedIOException e) {
+            System.err.println("Error writing " + exportFile + ": " + e.getMessage());
+            System.exit(1);
+        }
+
+        summary.print(System.out);
+        if (watermark != null) {
+            System.out.println("Watermark: " + watermark);
+        }
+        if (errors != null && !errors.isEmpty()) {
+            errors.print(System.out);
+        }
+        if (employeeIndex != null) {
+            employeeIndex.printDuplicates(System.out);
+        }
+        if (dedup) {
+            System.out.println("String pool: " + XlsxReaderService.getStringPoolStats());
+        }
+        if (sink != null) {
+            printExport(filePath, exportFile, sink, System.nanoTime() - started);
+        }
+        printStats(XlsxReaderService);
+    }
+
+    private static void addIf(List<String> options, boolean set, String option) {
+        if (set) {
+            options.add(option);
+        }
+    }
+
+    private static void exitWithError(String message) {
+        System.err.println(message);
+        System.exit(1);
+    }
+
+    private static EmployeeSink openExport(String exportFile) {
+        Path file = Path.of(exportFile);
+        try {
+            return ExportFormat.forFile(file).open(file);
+        } catch (IllegalArgumentException | IOException e) {
+            System.err.println("Invalid export file: " + e.getMessage());
+            System.exit(1);
+            return null;
+        }
+    }
+
+    private static void printExport(String filePath, String exportFile, EmployeeSink sink, long elapsedNanos) {
+        double seconds = Math.max(elapsedNanos, 1) / 1e9;
+        double inputMb = new File(filePath).length() / 1e6;
+        double outputMb = sink.getBytesWritten() / 1e6;
+        System.out.println(String.format(Locale.ROOT,
+                "Exported %d rows to %s: %.2f MB in %.3f s (input %.1f MB/s, output %.1f MB/s)",
+                sink.getRowsWritten(), exportFile, outputMb, seconds, inputMb / seconds, outputMb / seconds));
+    }
+
+    private static ReadMetrics openMetrics() {
+        ReadMetrics metrics = new ReadMetrics();
+        try {
+            metrics.registerMBean();
+        } catch (JMException e) {
+            // the counters are still printed, only the JMX view is missing
+            System.err.println("Could not register " + ReadMetrics.OBJECT_NAME + ": " + e.getMessage());
+        }
+        return metrics;
+    }
+
+    private static void printStats(XlsxReaderService XlsxReaderService) {
+        if (XlsxReaderService.getMetrics() != null) {
+            XlsxReaderService.getMetrics().print(System.out);
+        }
+    }
+
+    private static void runBatch(
+            XlsxReaderService XlsxReaderService,
+            String directoryOrGlob,
+            int threads,
+            EmployeeSummary template) {
+        List<Path> files = null;
+        try {
+            files = BatchFiles.resolve(directoryOrGlob);
+        } catch (InvalidFilePathException e) {
+            System.err.println(e.getMessage());
+            System.exit(1);
+        }
+
+        ExecutorService executor = BatchReaderService.newFixedPool(threads);
+        try {
+            BatchResult result = new BatchReaderService(XlsxReaderService, executor, threads * 2)
+                    .read(files, template);
+            result.getSummary().print(System.out);
+            result.printReport(System.out);
+            printStats(XlsxReaderService);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            System.err.println("Batch interrupted");
+            System.exit(1);
+        } finally {
+            executor.shutdown();
         }
+    }
 
-        System.out.println("Total employees: " + employees.size());
+    private static void runDaemon(
+            XlsxReaderService XlsxReaderService,
+            String inbox,
+            String outbox,
+            ExportFormat exportFormat,
+            int threads,
+            EmployeeSummary template) {
+        ExecutorService executor = BatchReaderService.newFixedPool(threads);
+        try (InboxDaemon daemon = new InboxDaemon(XlsxReaderService, Path.of(inbox), Path.of(outbox), executor)) {
+            daemon.setSummaryTemplate(template);
+            daemon.setExportFormat(exportFormat);
+            // the hook only interrupts run(), the try-with-resources closes the daemon. The JVM exits once the
+            // hook returns, so it waits for the files already being read; a file still unfinished after the
+            // timeout stays in the inbox and is read again on the next start
+            Thread watching = Thread.currentThread();
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                watching.interrupt();
+                executor.shutdown();
+                try {
+                    executor.awaitTermination(DAEMON_SHUTDOWN_SECONDS, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }));
+            System.out.println("Watching " + inbox + ", writing to " + outbox);
+            daemon.run();
+        } catch (IOException e) {
+            System.err.println("Daemon stopped: " + e.getMessage());
+            System.exit(1);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            executor.shutdown();
+        }
+    }
 
-        printSummary(employees);
+    // prints one summary per sheet and merges them into the given one, which is printed last
+    private static void readSheets(
+            XlsxReaderService XlsxReaderService,
+            String filePath,
+            SheetSelection sheets,
+            int threads,
+            EmployeeSummary summary) throws ExcelParsingException {
+        ExecutorService executor = BatchReaderService.newFixedPool(threads);
+        try {
+            Map<String, EmployeeSummary> perSheet =
+                    XlsxReaderService.forEachSheet(filePath, sheets, executor, summary::empty);
+            for (Map.Entry<String, EmployeeSummary> sheet : perSheet.entrySet()) {
+                System.out.println("Sheet: " + sheet.getKey());
+                sheet.getValue().print(System.out);
+                summary.merge(sheet.getValue());
+            }
+            System.out.println("All sheets:");
+        } finally {
+            executor.shutdown();
+        }
     }
 
-    private static void printSummary(List<Employee> employees) {
-        long individualCount = employees.stream()
-                .filter(e -> e instanceof com.xlsx_reader.domain.Individual)
-                .count();
+    private static ParseCache openCache(XlsxReaderService XlsxReaderService, String cacheDirectory) {
+        try {
+            return new ParseCache(XlsxReaderService, Path.of(cacheDirectory), CACHE_SIZE_BYTES);
+        } catch (IOException e) {
+            System.err.println("Invalid cache directory: " + e.getMessage());
+            System.exit(1);
+            return null;
+        }
+    }
 
-        long companyCount = employees.stream()
-                .filter(e -> e instanceof com.xlsx_reader.domain.Company)
-                .count();
+    private static IncrementalReader openIncremental(XlsxReaderService XlsxReaderService, String watermarkDirectory) {
+        try {
+            return new IncrementalReader(XlsxReaderService, Path.of(watermarkDirectory));
+        } catch (IOException e) {
+            System.err.println("Invalid watermark directory: " + e.getMessage());
+            System.exit(1);
+            return null;
+        }
+    }
 
-        long individualsUnder20 = employees.stream()
-                .filter(e -> e instanceof com.xlsx_reader.domain.Individual)
-                .map(e -> (com.xlsx_reader.domain.Individual) e)
-                .filter(i -> i.getAge() < 20)
-                .count();
+    private static ColumnSchema loadSchema(String mappingFile) {
+        try {
+            return ColumnSchema.load(Path.of(mappingFile));
+        } catch (IOException e) {
+            System.err.println("Invalid column mapping: " + e.getMessage());
+            System.exit(1);
+            return null;
+        }
+    }
 
-        System.out.println("Total individuals: " + individualCount);
-        System.out.println("Total companies: " + companyCount);
-        System.out.println("Total individuals under 20: " + individualsUnder20);
+    private static ExportFormat parseExportFormat(String extension) {
+        try {
+            return ExportFormat.forExtension(extension);
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.exit(1);
+            return null;
+        }
+    }
 
-        System.out.println("Names and surnames of employees:");
-        employees.stream()
-                .filter(e -> e instanceof com.xlsx_reader.domain.Individual)
-                .map(e -> (com.xlsx_reader.domain.Individual) e)
-                .forEach(i -> System.out.println(i.getFirstName() + " " + i.getLastName()));
+    private static int parsePositiveInt(String value, String option) {
+        try {
+            int parsed = Integer.parseInt(value);
+            if (parsed > 0)
+                return parsed;
+        } catch (NumberFormatException e) {
+            // reported below
+        }
+        System.err.println("Invalid value for " + option + ": " + value);
+        System.exit(1);
+        return 0;
     }
 
     private static void validateFilePath(String filePath) throws InvalidFilePathException {
@@ -0,0 +1,60 @@
+package com.xlsx_reader.batch;
+
+import com.xlsx_reader.exception.InvalidFilePathException;
+
+import java.io.IOException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.PathMatcher;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.stream.Stream;
+
+public final class BatchFiles {
+    private static final String XLSX_GLOB = "*.xlsx";
+
+    private BatchFiles() {
+    }
+
+    public static List<Path> resolve(String directoryOrGlob) throws InvalidFilePathException {
+        Path directory = Paths.get(directoryOrGlob);
+        String glob = XLSX_GLOB;
+        int maxDepth = 1;
+
+        if (!Files.isDirectory(directory)) {
+            int wildcard = indexOfWildcard(directoryOrGlob);
+            if (wildcard < 0) {
+                throw new InvalidFilePathException("Invalid batch directory or glob: " + directoryOrGlob);
+            }
+            int separator = directoryOrGlob.lastIndexOf('/', wildcard);
+            directory = Paths.get(separator < 0 ? "." : directoryOrGlob.substring(0, separator + 1));
+            glob = directoryOrGlob.substring(separator + 1);
+            maxDepth = glob.contains("**") ? Integer.MAX_VALUE : glob.split("/").length;
+        }
+
+        if (!Files.isDirectory(directory)) {
+            throw new InvalidFilePathException("Invalid batch directory: " + directory);
+        }
+
+        Path base = directory;
+        PathMatcher matcher = FileSystems.getDefault().getPathMatcher("glob:" + glob);
+        try (Stream<Path> paths = Files.walk(base, maxDepth)) {
+            return paths.filter(Files::isRegularFile)
+                    .filter(path -> matcher.matches(base.relativize(path)))
+                    .sorted()
+                    .toList();
+        } catch (IOException e) {
+            throw new InvalidFilePathException("Unable to list batch files in " + directory + ": " + e.getMessage());
+        }
+    }
+
+    private static int indexOfWildcard(String pattern) {
+        for (int i = 0; i < pattern.length(); i++) {
+            char c = pattern.charAt(i);
+            if (c == '*' || c == '?' || c == '[' || c == '{')
+                return i;
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,105 @@
+package com.xlsx_reader.batch;
+
+import com.xlsx_reader.exception.ExcelParsingException;
+import com.xlsx_reader.exception.InvalidFilePathException;
+import com.xlsx_reader.service.XlsxReaderService;
+import com.xlsx_reader.summary.EmployeeSummary;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+
+public class BatchReaderService {
+    private final XlsxReaderService reader;
+    private final ExecutorService executor;
+    private final int maxFilesInFlight;
+
+    public BatchReaderService(XlsxReaderService reader, ExecutorService executor, int maxFilesInFlight) {
+        if (maxFilesInFlight <= 0)
+            throw new IllegalArgumentException("Max files in flight must be positive: " + maxFilesInFlight);
+        this.reader = reader;
+        this.executor = executor;
+        this.maxFilesInFlight = maxFilesInFlight;
+    }
+
+    public static ExecutorService newFixedPool(int threads) {
+        return Executors.newFixedThreadPool(threads);
+    }
+
+    public static int defaultThreads() {
+        return Runtime.getRuntime().availableProcessors();
+    }
+
+    public BatchResult read(List<Path> files, EmployeeSummary template) throws InterruptedException {
+        long start = System.nanoTime();
+        OrderedMerge results = new OrderedMerge(template.empty(), files.size());
+        List<CompletableFuture<Void>> tasks = new ArrayList<>(files.size());
+        // bounds the number of files being parsed at once so memory stays flat for large batches
+        Semaphore inFlight = new Semaphore(maxFilesInFlight);
+
+        for (int i = 0; i < files.size(); i++) {
+            int index = i;
+            Path file = files.get(i);
+            inFlight.acquire();
+            tasks.add(CompletableFuture.runAsync(() -> {
+                try {
+                    results.complete(index, readFile(file, template.empty()), null);
+                } catch (ExcelParsingException | InvalidFilePathException | RuntimeException e) {
+                    results.complete(index, null, new FileFailure(file, e));
+                } finally {
+                    inFlight.release();
+                }
+            }, executor));
+        }
+        CompletableFuture.allOf(tasks.toArray(new CompletableFuture<?>[0])).join();
+
+        return new BatchResult(results.merged, results.failures, files.size(), System.nanoTime() - start);
+    }
+
+    private EmployeeSummary readFile(Path file, EmployeeSummary summary)
+            throws ExcelParsingException, InvalidFilePathException {
+        if (!Files.isRegularFile(file)) {
+            throw new InvalidFilePathException("Invalid file path: " + file);
+        }
+        reader.forEachEmployee(file.toString(), summary);
+        return summary;
+    }
+
+    // merges each file's summary as soon as every earlier file is done, so the merged names keep the file
+    // order and only the results of files finished ahead of a slower one are held at a time
+    private static class OrderedMerge {
+        private final EmployeeSummary merged;
+        private final List<FileFailure> failures = new ArrayList<>();
+        private final EmployeeSummary[] summaries;
+        private final FileFailure[] pendingFailures;
+        private final boolean[] finished;
+        private int next;
+
+        OrderedMerge(EmployeeSummary merged, int files) {
+            this.merged = merged;
+            this.summaries = new EmployeeSummary[files];
+            this.pendingFailures = new FileFailure[files];
+            this.finished = new boolean[files];
+        }
+
+        synchronized void complete(int index, EmployeeSummary summary, FileFailure failure) {
+            summaries[index] = summary;
+            pendingFailures[index] = failure;
+            finished[index] = true;
+            for (; next < finished.length && finished[next]; next++) {
+                if (summaries[next] != null) {
+                    merged.merge(summaries[next]);
+                    summaries[next] = null;
+                } else {
+                    failures.add(pendingFailures[next]);
+                    pendingFailures[next] = null;
+                }
+            }
+        }
+    }
+}
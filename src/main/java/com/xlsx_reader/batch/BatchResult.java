@@ -0,0 +1,58 @@
+package com.xlsx_reader.batch;
+
+import com.xlsx_reader.summary.EmployeeSummary;
+
+import java.io.PrintStream;
+import java.util.List;
+import java.util.Locale;
+
+public class BatchResult {
+    private final EmployeeSummary summary;
+    private final List<FileFailure> failures;
+    private final int fileCount;
+    private final long elapsedNanos;
+
+    public BatchResult(EmployeeSummary summary, List<FileFailure> failures, int fileCount, long elapsedNanos) {
+        this.summary = summary;
+        this.failures = failures;
+        this.fileCount = fileCount;
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    public EmployeeSummary getSummary() {
+        return summary;
+    }
+
+    public List<FileFailure> getFailures() {
+        return failures;
+    }
+
+    public int getFileCount() {
+        return fileCount;
+    }
+
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    public double getFilesPerSecond() {
+        return perSecond(fileCount);
+    }
+
+    public double getRowsPerSecond() {
+        return perSecond(summary.getEmployeeCount());
+    }
+
+    private double perSecond(long count) {
+        return elapsedNanos == 0 ? 0 : count * 1_000_000_000.0 / elapsedNanos;
+    }
+
+    public void printReport(PrintStream out) {
+        out.println("Files processed: " + fileCount + " (" + failures.size() + " failed)");
+        for (FileFailure failure : failures) {
+            out.println("  " + failure);
+        }
+        out.println(String.format(Locale.ROOT, "Throughput: %.1f files/s, %.1f rows/s (%.3f s)",
+                getFilesPerSecond(), getRowsPerSecond(), elapsedNanos / 1_000_000_000.0));
+    }
+}
@@ -0,0 +1,26 @@
+package com.xlsx_reader.batch;
+
+import java.nio.file.Path;
+
+public class FileFailure {
+    private final Path file;
+    private final Exception cause;
+
+    public FileFailure(Path file, Exception cause) {
+        this.file = file;
+        this.cause = cause;
+    }
+
+    public Path getFile() {
+        return file;
+    }
+
+    public Exception getCause() {
+        return cause;
+    }
+
+    @Override
+    public String toString() {
+        return file + ": " + cause.getMessage();
+    }
+}
@@ -0,0 +1,190 @@
+package com.xlsx_reader.cache;
+
+import com.xlsx_reader.domain.Employee;
+import com.xlsx_reader.exception.ExcelParsingException;
+import com.xlsx_reader.service.EmployeeValidator;
+import com.xlsx_reader.service.XlsxReaderService;
+import com.xlsx_reader.store.EmployeeStore;
+import com.xlsx_reader.store.EmployeeStoreCodec;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Stream;
+
+public class ParseCache {
+    private static final String SNAPSHOT_SUFFIX = ".emp";
+    private static final int HASH_BUFFER_SIZE = 1 << 16;
+
+    private final XlsxReaderService reader;
+    private final Path directory;
+    private final long maxBytes;
+    private final Map<Path, FileKey> keys = new ConcurrentHashMap<>();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    public ParseCache(XlsxReaderService reader, Path directory, long maxBytes) throws IOException {
+        if (maxBytes <= 0)
+            throw new IllegalArgumentException("Cache size must be positive: " + maxBytes);
+        this.reader = reader;
+        this.directory = Files.createDirectories(directory);
+        this.maxBytes = maxBytes;
+    }
+
+    public List<Employee> readEmployees(String filePath) throws ExcelParsingException {
+        return readColumnar(filePath).toList();
+    }
+
+    public EmployeeStore readColumnar(String filePath) throws ExcelParsingException {
+        Path snapshot = directory.resolve(key(Path.of(filePath)) + validatorSuffix() + SNAPSHOT_SUFFIX);
+
+        if (Files.isRegularFile(snapshot)) {
+            try {
+                EmployeeStore store = EmployeeStoreCodec.read(snapshot);
+                Files.setLastModifiedTime(snapshot, FileTime.fromMillis(System.currentTimeMillis()));
+                hits.increment();
+                return store;
+            } catch (IOException e) {
+                // unreadable snapshots are dropped and rebuilt from the workbook
+                deleteQuietly(snapshot);
+            }
+        }
+
+        misses.increment();
+        EmployeeStore store = reader.readColumnar(filePath);
+        try {
+            Path temp = Files.createTempFile(directory, "snapshot", ".tmp");
+            try {
+                EmployeeStoreCodec.write(store, temp);
+                Files.move(temp, snapshot, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                deleteQuietly(temp);
+            }
+            evict();
+        } catch (IOException e) {
+            // the cache is best effort, a failed write only costs a re-parse next time
+        }
+        return store;
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    private String key(Path file) throws ExcelParsingException {
+        try {
+            BasicFileAttributes attributes = Files.readAttributes(file, BasicFileAttributes.class);
+            Path absolute = file.toAbsolutePath().normalize();
+            FileKey known = keys.get(absolute);
+            // size and mtime only decide whether the content hash must be recomputed
+            if (known != null && known.matches(attributes)) {
+                return known.key;
+            }
+
+            MessageDigest digest = sha256();
+            digest.update(reader.getSchema().getVersion().getBytes(StandardCharsets.UTF_8));
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+                ByteBuffer buffer = ByteBuffer.allocateDirect(HASH_BUFFER_SIZE);
+                while (channel.read(buffer) > 0) {
+                    buffer.flip();
+                    digest.update(buffer);
+                    buffer.clear();
+                }
+            }
+
+            String key = HexFormat.of().formatHex(digest.digest());
+            keys.put(absolute, new FileKey(key, attributes));
+            return key;
+        } catch (IOException e) {
+            throw new ExcelParsingException("Error reading Excel file: " + e.getMessage(), e);
+        }
+    }
+
+    // the validator can change between reads, so it is kept out of the cached content hash
+    private String validatorSuffix() {
+        EmployeeValidator validator = reader.getValidator();
+        if (validator == null)
+            return "";
+        byte[] hash = sha256().digest(validator.getVersion().getBytes(StandardCharsets.UTF_8));
+        return "-" + HexFormat.of().formatHex(hash, 0, 8);
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private synchronized void evict() throws IOException {
+        Map<Path, BasicFileAttributes> snapshots = new HashMap<>();
+        long total = 0;
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path path : (Iterable<Path>) files::iterator) {
+                if (path.getFileName().toString().endsWith(SNAPSHOT_SUFFIX)) {
+                    BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+                    snapshots.put(path, attributes);
+                    total += attributes.size();
+                }
+            }
+        }
+        if (total <= maxBytes)
+            return;
+
+        // hits refresh the modification time, so the oldest snapshots are the least recently used
+        List<Path> oldestFirst = new ArrayList<>(snapshots.keySet());
+        oldestFirst.sort(Comparator.comparing(path -> snapshots.get(path).lastModifiedTime()));
+        for (Path snapshot : oldestFirst) {
+            if (total <= maxBytes)
+                break;
+            deleteQuietly(snapshot);
+            total -= snapshots.get(snapshot).size();
+        }
+    }
+
+    private static void deleteQuietly(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            // left for the next eviction pass
+        }
+    }
+
+    private static class FileKey {
+        private final String key;
+        private final long size;
+        private final FileTime lastModified;
+
+        FileKey(String key, BasicFileAttributes attributes) {
+            this.key = key;
+            this.size = attributes.size();
+            this.lastModified = attributes.lastModifiedTime();
+        }
+
+        boolean matches(BasicFileAttributes attributes) {
+            return size == attributes.size() && lastModified.equals(attributes.lastModifiedTime());
+        }
+    }
+}
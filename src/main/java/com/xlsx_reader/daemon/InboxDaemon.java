@@ -0,0 +1,195 @@
+package com.xlsx_reader.daemon;
+
+import com.xlsx_reader.exception.ExcelParsingException;
+import com.xlsx_reader.export.EmployeeSink;
+import com.xlsx_reader.export.ExportFormat;
+import com.xlsx_reader.service.XlsxReaderService;
+import com.xlsx_reader.summary.EmployeeSummary;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicLong;
+
+// keeps one reader, and so one warm JVM, serving an inbox directory. Every *.xlsx file that appears
+// is read on the executor; its summary (and export, if set) is written to the outbox and the file
+// itself is moved to outbox/processed or, with an .error.txt next to it, to outbox/failed.
+// Files should be moved into the inbox once complete, a file still being written may fail to open.
+public class InboxDaemon implements Closeable {
+    public static final String PROCESSED_DIRECTORY = "processed";
+    public static final String FAILED_DIRECTORY = "failed";
+
+    private final XlsxReaderService reader;
+    private final Path inbox;
+    private final Path outbox;
+    private final ExecutorService executor;
+    private final WatchService watcher;
+    private final Set<Path> pending = ConcurrentHashMap.newKeySet();
+    private final AtomicLong processed = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private EmployeeSummary template = new EmployeeSummary();
+    private ExportFormat exportFormat;
+    private PrintStream log = System.out;
+
+    public InboxDaemon(XlsxReaderService reader, Path inbox, Path outbox, ExecutorService executor)
+            throws IOException {
+        if (!Files.isDirectory(inbox))
+            throw new IOException("Not a directory: " + inbox);
+        this.reader = reader;
+        this.inbox = inbox;
+        this.outbox = outbox;
+        this.executor = executor;
+        Files.createDirectories(outbox.resolve(PROCESSED_DIRECTORY));
+        Files.createDirectories(outbox.resolve(FAILED_DIRECTORY));
+        this.watcher = inbox.getFileSystem().newWatchService();
+        inbox.register(watcher, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+    }
+
+    public void setSummaryTemplate(EmployeeSummary template) {
+        this.template = template;
+    }
+
+    public void setExportFormat(ExportFormat exportFormat) {
+        this.exportFormat = exportFormat;
+    }
+
+    public void setLog(PrintStream log) {
+        this.log = log;
+    }
+
+    public long getFilesProcessed() {
+        return processed.get();
+    }
+
+    public long getFilesFailed() {
+        return failed.get();
+    }
+
+    // handles the files already in the inbox, then waits for new ones until close() is called
+    public void run() throws IOException, InterruptedException {
+        scan();
+        try {
+            while (true) {
+                WatchKey key = watcher.take();
+                for (WatchEvent<?> event : key.pollEvents()) {
+                    if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                        scan();
+                    } else {
+                        submit(inbox.resolve((Path) event.context()));
+                    }
+                }
+                if (!key.reset())
+                    throw new IOException("Inbox is no longer accessible: " + inbox);
+            }
+        } catch (ClosedWatchServiceException e) {
+            // close() was called
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        watcher.close();
+    }
+
+    private void scan() throws IOException {
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(inbox)) {
+            for (Path file : files) {
+                submit(file);
+            }
+        }
+    }
+
+    private void submit(Path file) {
+        String name = file.getFileName().toString();
+        // skips temporary and lock files such as ~$book.xlsx or .book.xlsx
+        if (name.startsWith(".") || name.startsWith("~$") || !name.toLowerCase(Locale.ROOT).endsWith(".xlsx"))
+            return;
+        // a file usually raises both a create and a modify event
+        if (!pending.add(file))
+            return;
+        executor.execute(() -> {
+            try {
+                if (Files.isRegularFile(file))
+                    process(file);
+            } finally {
+                pending.remove(file);
+            }
+        });
+    }
+
+    private void process(Path file) {
+        String name = file.getFileName().toString();
+        long start = System.nanoTime();
+        EmployeeSummary summary = template.empty();
+        Path export = exportFormat != null ? outbox.resolve(name + exportFormat.getExtension()) : null;
+        Path exportTemp = export != null ? temporaryFile(export) : null;
+        try {
+            if (export != null) {
+                try (EmployeeSink sink = exportFormat.open(exportTemp)) {
+                    reader.forEachEmployee(file.toString(), summary.andThen(sink));
+                }
+                Files.move(exportTemp, export, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } else {
+                reader.forEachEmployee(file.toString(), summary);
+            }
+            writeAtomically(outbox.resolve(name + ".summary.txt"), summary::print);
+            Files.move(file, outbox.resolve(PROCESSED_DIRECTORY).resolve(name), StandardCopyOption.REPLACE_EXISTING);
+            processed.incrementAndGet();
+            log.println(String.format(Locale.ROOT, "Processed %s: %d employees in %.1f ms",
+                    name, summary.getEmployeeCount(), (System.nanoTime() - start) / 1e6));
+        } catch (ExcelParsingException | IOException | RuntimeException e) {
+            failed.incrementAndGet();
+            log.println("Failed " + name + ": " + e.getMessage());
+            try {
+                if (exportTemp != null)
+                    Files.deleteIfExists(exportTemp);
+                writeAtomically(outbox.resolve(FAILED_DIRECTORY).resolve(name + ".error.txt"),
+                        out -> out.println(e.getMessage()));
+                Files.move(file, outbox.resolve(FAILED_DIRECTORY).resolve(name), StandardCopyOption.REPLACE_EXISTING);
+            } catch (IOException moveError) {
+                log.println("Could not move " + name + " to " + FAILED_DIRECTORY + ": " + moveError.getMessage());
+            }
+        }
+    }
+
+    private interface Report {
+        void print(PrintStream out);
+    }
+
+    // readers of the outbox never see a half written report
+    private static void writeAtomically(Path target, Report report) throws IOException {
+        Path temp = temporaryFile(target);
+        try {
+            try (OutputStream os = Files.newOutputStream(temp);
+                    PrintStream out = new PrintStream(os, false, StandardCharsets.UTF_8)) {
+                report.print(out);
+                if (out.checkError())
+                    throw new IOException("Error writing " + temp);
+            }
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            Files.deleteIfExists(temp);
+            throw e;
+        }
+    }
+
+    // hidden, so a consumer listing the outbox for finished files skips it
+    private static Path temporaryFile(Path target) {
+        return target.resolveSibling("." + target.getFileName() + ".tmp");
+    }
+}
@@ -8,4 +8,8 @@ public class ExcelParsingException extends Exception {
     public ExcelParsingException(String message, Throwable cause) {
         super(message, cause);
     }
+
+    protected ExcelParsingException(String message, Throwable cause, boolean writableStackTrace) {
+        super(message, cause, true, writableStackTrace);
+    }
 }
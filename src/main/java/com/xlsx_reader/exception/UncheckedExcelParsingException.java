@@ -0,0 +1,12 @@
+package com.xlsx_reader.exception;
+
+public class UncheckedExcelParsingException extends RuntimeException {
+    public UncheckedExcelParsingException(ExcelParsingException cause) {
+        super(cause.getMessage(), cause);
+    }
+
+    @Override
+    public synchronized ExcelParsingException getCause() {
+        return (ExcelParsingException) super.getCause();
+    }
+}
@@ -0,0 +1,70 @@
+package com.xlsx_reader.export;
+
+import com.xlsx_reader.domain.Employee;
+import com.xlsx_reader.store.EmployeeStore;
+import com.xlsx_reader.store.EmployeeStoreCodec;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.WritableByteChannel;
+
+// writes row groups of dictionary-encoded columns, each an EmployeeStoreCodec block, so memory is
+// bounded by the group size; EmployeeStoreCodec.readAll reads them back
+public class ColumnarSink implements EmployeeSink {
+    public static final int DEFAULT_ROW_GROUP_SIZE = 1 << 16;
+
+    private final WritableByteChannel channel;
+    private final int rowGroupSize;
+    private EmployeeStore.Builder group = new EmployeeStore.Builder();
+    private int groupRows;
+    private long rows;
+    private long bytes;
+
+    public ColumnarSink(WritableByteChannel channel, int rowGroupSize) {
+        if (rowGroupSize <= 0)
+            throw new IllegalArgumentException("Row group size must be positive: " + rowGroupSize);
+        this.channel = channel;
+        this.rowGroupSize = rowGroupSize;
+    }
+
+    @Override
+    public void accept(Employee employee) {
+        group.accept(employee);
+        groupRows++;
+        rows++;
+        if (groupRows == rowGroupSize) {
+            try {
+                flushGroup();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    private void flushGroup() throws IOException {
+        bytes += EmployeeStoreCodec.write(group.build(), channel);
+        group = new EmployeeStore.Builder();
+        groupRows = 0;
+    }
+
+    @Override
+    public long getRowsWritten() {
+        return rows;
+    }
+
+    // only counts row groups already written
+    @Override
+    public long getBytesWritten() {
+        return bytes;
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            if (groupRows > 0)
+                flushGroup();
+        } finally {
+            channel.close();
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.xlsx_reader.export;
+
+import com.xlsx_reader.domain.BankAccount;
+import com.xlsx_reader.domain.Company;
+import com.xlsx_reader.domain.Employee;
+import com.xlsx_reader.domain.Individual;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.WritableByteChannel;
+
+public class CsvSink implements EmployeeSink {
+    private static final String HEADER = "type,id,email,phone,address,first name,last name,has children,age,"
+            + "company name,company type,iban,bic,account holder";
+
+    private final WritableByteChannel channel;
+    private final TextEncoder out;
+    private long rows;
+
+    public CsvSink(WritableByteChannel channel) throws IOException {
+        this.channel = channel;
+        this.out = new TextEncoder(channel);
+        out.ascii(HEADER);
+        out.ascii('\n');
+    }
+
+    @Override
+    public void accept(Employee employee) {
+        try {
+            write(employee);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        rows++;
+    }
+
+    private void write(Employee employee) throws IOException {
+        Individual individual = employee instanceof Individual i ? i : null;
+        Company company = employee instanceof Company c ? c : null;
+
+        out.ascii(individual != null ? "individual," : "company,");
+        out.number(employee.getId());
+        field(employee.getEmail());
+        field(employee.getPhone());
+        field(employee.getAddress());
+        if (individual != null) {
+            field(individual.getFirstName());
+            field(individual.getLastName());
+            out.ascii(',');
+            out.bool(individual.isHasChildren());
+            out.ascii(',');
+            out.number(individual.getAge());
+            out.ascii(",,");
+        } else {
+            out.ascii(",,,,");
+            field(company.getName());
+            field(company.getType() != null ? company.getType().name() : null);
+        }
+
+        BankAccount bankAccount = employee.getBankAccount();
+        field(bankAccount != null ? bankAccount.getIban() : null);
+        field(bankAccount != null ? bankAccount.getBic() : null);
+        field(bankAccount != null ? bankAccount.getAccountHolder() : null);
+        out.ascii('\n');
+    }
+
+    private void field(String value) throws IOException {
+        out.ascii(',');
+        if (value != null)
+            out.csv(value);
+    }
+
+    @Override
+    public long getRowsWritten() {
+        return rows;
+    }
+
+    @Override
+    public long getBytesWritten() {
+        return out.getBytesWritten();
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            out.flush();
+        } finally {
+            channel.close();
+        }
+    }
+}
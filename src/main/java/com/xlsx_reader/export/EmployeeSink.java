@@ -0,0 +1,13 @@
+package com.xlsx_reader.export;
+
+import com.xlsx_reader.domain.Employee;
+
+import java.io.Closeable;
+import java.util.function.Consumer;
+
+// accept() reports write failures as UncheckedIOException so a sink can be handed to the reader directly
+public interface EmployeeSink extends Consumer<Employee>, Closeable {
+    long getRowsWritten();
+
+    long getBytesWritten();
+}
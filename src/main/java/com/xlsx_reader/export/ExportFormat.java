@@ -0,0 +1,57 @@
+package com.xlsx_reader.export;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Locale;
+
+public enum ExportFormat {
+    CSV(".csv"),
+    JSON_LINES(".jsonl"),
+    COLUMNAR(".emp");
+
+    private final String extension;
+
+    ExportFormat(String extension) {
+        this.extension = extension;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+
+    public static ExportFormat forFile(Path file) {
+        String name = file.getFileName().toString().toLowerCase(Locale.ROOT);
+        for (ExportFormat format : values()) {
+            if (name.endsWith(format.extension))
+                return format;
+        }
+        throw new IllegalArgumentException("Unknown export format for " + file + ", expected .csv, .jsonl or .emp");
+    }
+
+    // takes the extension with or without its leading dot
+    public static ExportFormat forExtension(String extension) {
+        String name = extension.toLowerCase(Locale.ROOT);
+        for (ExportFormat format : values()) {
+            if (format.extension.equals(name) || format.extension.substring(1).equals(name))
+                return format;
+        }
+        throw new IllegalArgumentException("Unknown export format " + extension + ", expected csv, jsonl or emp");
+    }
+
+    public EmployeeSink open(Path file) throws IOException {
+        FileChannel channel = FileChannel.open(file,
+                StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+        try {
+            return switch (this) {
+                case CSV -> new CsvSink(channel);
+                case JSON_LINES -> new JsonLinesSink(channel);
+                case COLUMNAR -> new ColumnarSink(channel, ColumnarSink.DEFAULT_ROW_GROUP_SIZE);
+            };
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+}
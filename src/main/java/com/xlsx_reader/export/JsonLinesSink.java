@@ -0,0 +1,97 @@
+package com.xlsx_reader.export;
+
+import com.xlsx_reader.domain.BankAccount;
+import com.xlsx_reader.domain.Company;
+import com.xlsx_reader.domain.Employee;
+import com.xlsx_reader.domain.Individual;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.WritableByteChannel;
+
+public class JsonLinesSink implements EmployeeSink {
+    private final WritableByteChannel channel;
+    private final TextEncoder out;
+    private long rows;
+
+    public JsonLinesSink(WritableByteChannel channel) {
+        this.channel = channel;
+        this.out = new TextEncoder(channel);
+    }
+
+    @Override
+    public void accept(Employee employee) {
+        try {
+            write(employee);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        rows++;
+    }
+
+    private void write(Employee employee) throws IOException {
+        out.ascii(employee instanceof Individual ? "{\"type\":\"individual\",\"id\":" : "{\"type\":\"company\",\"id\":");
+        out.number(employee.getId());
+        field("email", employee.getEmail());
+        field("phone", employee.getPhone());
+        field("address", employee.getAddress());
+
+        if (employee instanceof Individual individual) {
+            field("firstName", individual.getFirstName());
+            field("lastName", individual.getLastName());
+            out.ascii(",\"hasChildren\":");
+            out.bool(individual.isHasChildren());
+            out.ascii(",\"age\":");
+            out.number(individual.getAge());
+        } else {
+            Company company = (Company) employee;
+            field("name", company.getName());
+            field("companyType", company.getType() != null ? company.getType().name() : null);
+        }
+
+        BankAccount bankAccount = employee.getBankAccount();
+        if (bankAccount == null) {
+            out.ascii(",\"bankAccount\":null}\n");
+            return;
+        }
+        out.ascii(",\"bankAccount\":{\"iban\":");
+        value(bankAccount.getIban());
+        field("bic", bankAccount.getBic());
+        field("accountHolder", bankAccount.getAccountHolder());
+        out.ascii("}}\n");
+    }
+
+    private void field(String name, String value) throws IOException {
+        out.ascii(",\"");
+        out.ascii(name);
+        out.ascii("\":");
+        value(value);
+    }
+
+    private void value(String value) throws IOException {
+        if (value == null) {
+            out.ascii("null");
+        } else {
+            out.json(value);
+        }
+    }
+
+    @Override
+    public long getRowsWritten() {
+        return rows;
+    }
+
+    @Override
+    public long getBytesWritten() {
+        return out.getBytesWritten();
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            out.flush();
+        } finally {
+            channel.close();
+        }
+    }
+}
@@ -0,0 +1,156 @@
+package com.xlsx_reader.export;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+
+// writes UTF-8 text straight into a reused direct buffer, so values are never turned into
+// intermediate strings or byte arrays on the way out
+final class TextEncoder {
+    private static final int BUFFER_SIZE = 1 << 16;
+    private static final byte[] HEX = "0123456789abcdef".getBytes();
+
+    private final WritableByteChannel channel;
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+    private final byte[] digits = new byte[20];
+    private long bytesWritten;
+
+    TextEncoder(WritableByteChannel channel) {
+        this.channel = channel;
+    }
+
+    void ascii(char c) throws IOException {
+        ensure(1);
+        buffer.put((byte) c);
+    }
+
+    void ascii(String literal) throws IOException {
+        for (int i = 0; i < literal.length(); i++) {
+            ascii(literal.charAt(i));
+        }
+    }
+
+    void number(long value) throws IOException {
+        if (value == Long.MIN_VALUE) {
+            ascii(Long.toString(value));
+            return;
+        }
+        if (value < 0) {
+            ascii('-');
+            value = -value;
+        }
+        int length = 0;
+        do {
+            digits[length++] = (byte) ('0' + value % 10);
+            value /= 10;
+        } while (value != 0);
+
+        ensure(length);
+        while (length > 0) {
+            buffer.put(digits[--length]);
+        }
+    }
+
+    void bool(boolean value) throws IOException {
+        ascii(value ? "true" : "false");
+    }
+
+    void text(String value) throws IOException {
+        for (int i = 0; i < value.length(); i++) {
+            i = utf8(value, i);
+        }
+    }
+
+    // RFC 4180: quoted only when it holds a separator, quote or line break
+    void csv(String value) throws IOException {
+        if (!needsQuotes(value)) {
+            text(value);
+            return;
+        }
+        ascii('"');
+        for (int i = 0; i < value.length(); i++) {
+            if (value.charAt(i) == '"')
+                ascii('"');
+            i = utf8(value, i);
+        }
+        ascii('"');
+    }
+
+    void json(String value) throws IOException {
+        ascii('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"' -> ascii("\\\"");
+                case '\\' -> ascii("\\\\");
+                case '\n' -> ascii("\\n");
+                case '\r' -> ascii("\\r");
+                case '\t' -> ascii("\\t");
+                default -> {
+                    if (c < 0x20) {
+                        ascii("\\u00");
+                        ascii((char) HEX[c >> 4]);
+                        ascii((char) HEX[c & 0xF]);
+                    } else {
+                        i = utf8(value, i);
+                    }
+                }
+            }
+        }
+        ascii('"');
+    }
+
+    long getBytesWritten() {
+        return bytesWritten + buffer.position();
+    }
+
+    void flush() throws IOException {
+        buffer.flip();
+        bytesWritten += buffer.remaining();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    // encodes the character at index i and returns the index of the last char consumed
+    private int utf8(String value, int i) throws IOException {
+        char c = value.charAt(i);
+        ensure(4);
+        if (c < 0x80) {
+            buffer.put((byte) c);
+        } else if (c < 0x800) {
+            buffer.put((byte) (0xC0 | c >> 6));
+            buffer.put((byte) (0x80 | c & 0x3F));
+        } else if (Character.isHighSurrogate(c) && i + 1 < value.length()
+                && Character.isLowSurrogate(value.charAt(i + 1))) {
+            int codePoint = Character.toCodePoint(c, value.charAt(++i));
+            buffer.put((byte) (0xF0 | codePoint >> 18));
+            buffer.put((byte) (0x80 | codePoint >> 12 & 0x3F));
+            buffer.put((byte) (0x80 | codePoint >> 6 & 0x3F));
+            buffer.put((byte) (0x80 | codePoint & 0x3F));
+        } else if (Character.isSurrogate(c)) {
+            buffer.put((byte) '?');
+        } else {
+            buffer.put((byte) (0xE0 | c >> 12));
+            buffer.put((byte) (0x80 | c >> 6 & 0x3F));
+            buffer.put((byte) (0x80 | c & 0x3F));
+        }
+        return i;
+    }
+
+    private static boolean needsQuotes(String value) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == ',' || c == '"' || c == '\n' || c == '\r')
+                return true;
+        }
+        return false;
+    }
+
+    private void ensure(int bytes) throws IOException {
+        if (buffer.remaining() < bytes) {
+            flush();
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.xlsx_reader.incremental;
+
+import com.xlsx_reader.domain.Employee;
+import com.xlsx_reader.exception.ExcelParsingException;
+import com.xlsx_reader.service.Watermark;
+import com.xlsx_reader.service.XlsxReaderService;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Properties;
+import java.util.function.Consumer;
+
+public class IncrementalReader {
+    private static final String WATERMARK_SUFFIX = ".watermark";
+
+    private final XlsxReaderService reader;
+    private final Path directory;
+
+    public IncrementalReader(XlsxReaderService reader, Path directory) throws IOException {
+        this.reader = reader;
+        this.directory = Files.createDirectories(directory);
+    }
+
+    public Watermark forEachNewEmployee(String filePath, Consumer<? super Employee> action)
+            throws ExcelParsingException {
+        Path file = Path.of(filePath);
+        Path watermarkFile = directory.resolve(key(file) + WATERMARK_SUFFIX);
+
+        Watermark watermark = reader.forEachEmployeeSince(filePath, load(watermarkFile), action);
+        try {
+            save(watermarkFile, watermark);
+        } catch (IOException e) {
+            throw new ExcelParsingException("Error saving watermark for " + filePath + ": " + e.getMessage(), e);
+        }
+        return watermark;
+    }
+
+    public Watermark getWatermark(String filePath) {
+        return load(directory.resolve(key(Path.of(filePath)) + WATERMARK_SUFFIX));
+    }
+
+    private static Watermark load(Path watermarkFile) {
+        if (!Files.isRegularFile(watermarkFile))
+            return null;
+
+        Properties properties = new Properties();
+        try (Reader in = Files.newBufferedReader(watermarkFile, StandardCharsets.UTF_8)) {
+            properties.load(in);
+            return new Watermark(
+                    Integer.parseInt(properties.getProperty("rowNum")),
+                    Long.parseLong(properties.getProperty("id")),
+                    Long.parseUnsignedLong(properties.getProperty("prefixChecksum"), 16),
+                    properties.getProperty("schemaVersion", ""));
+        } catch (IOException | RuntimeException e) {
+            // an unreadable watermark only costs a full re-read
+            return null;
+        }
+    }
+
+    private void save(Path watermarkFile, Watermark watermark) throws IOException {
+        Properties properties = new Properties();
+        properties.setProperty("rowNum", Integer.toString(watermark.getRowNum()));
+        properties.setProperty("id", Long.toString(watermark.getId()));
+        properties.setProperty("prefixChecksum", Long.toHexString(watermark.getPrefixChecksum()));
+        properties.setProperty("schemaVersion", watermark.getSchemaVersion());
+
+        Path temp = Files.createTempFile(directory, "watermark", ".tmp");
+        try {
+            try (Writer out = Files.newBufferedWriter(temp, StandardCharsets.UTF_8)) {
+                properties.store(out, null);
+            }
+            Files.move(temp, watermarkFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    // one watermark per workbook, keyed by its absolute path
+    private static String key(Path file) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            byte[] path = file.toAbsolutePath().normalize().toString().getBytes(StandardCharsets.UTF_8);
+            return HexFormat.of().formatHex(digest.digest(path));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.xlsx_reader.index;
+
+import java.util.Locale;
+
+public class DuplicateKey {
+    public enum Kind {
+        ID,
+        IBAN
+    }
+
+    private final Kind kind;
+    private final String key;
+    private final int firstRowNum;
+    private final int rowNum;
+
+    public DuplicateKey(Kind kind, String key, int firstRowNum, int rowNum) {
+        this.kind = kind;
+        this.key = key;
+        this.firstRowNum = firstRowNum;
+        this.rowNum = rowNum;
+    }
+
+    public Kind getKind() {
+        return kind;
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    // the row that keeps the key in the index
+    public int getFirstRowNum() {
+        return firstRowNum;
+    }
+
+    public int getRowNum() {
+        return rowNum;
+    }
+
+    @Override
+    public String toString() {
+        return "duplicate " + kind.name().toLowerCase(Locale.ROOT) + " " + key + " on row " + rowNum
+                + ", first seen on row " + firstRowNum;
+    }
+}
@@ -0,0 +1,119 @@
+package com.xlsx_reader.index;
+
+import com.xlsx_reader.domain.BankAccount;
+import com.xlsx_reader.domain.Employee;
+
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// lookups by id, IBAN and email over one read. The first row holding a key wins; later rows with
+// the same id or IBAN are reported as duplicates, repeated emails are expected and not reported.
+public class EmployeeIndex {
+    private final List<Employee> employees;
+    private final int[] rowNums;
+    private final LongIntHashMap byId;
+    private final Map<String, Integer> byIban;
+    private final Map<String, Integer> byEmail;
+    private final List<DuplicateKey> duplicates;
+
+    private EmployeeIndex(Builder builder) {
+        this.employees = Collections.unmodifiableList(builder.employees);
+        this.rowNums = builder.rowNums;
+        this.byId = builder.byId;
+        this.byIban = builder.byIban;
+        this.byEmail = builder.byEmail;
+        this.duplicates = Collections.unmodifiableList(builder.duplicates);
+    }
+
+    public Employee getById(long id) {
+        return employee(byId.get(id));
+    }
+
+    public Employee getByIban(String iban) {
+        return employee(byIban.getOrDefault(iban, LongIntHashMap.NO_VALUE));
+    }
+
+    public Employee getByEmail(String email) {
+        return employee(byEmail.getOrDefault(email, LongIntHashMap.NO_VALUE));
+    }
+
+    // -1 when the id is not in the index
+    public int getRowNum(long id) {
+        int position = byId.get(id);
+        return position == LongIntHashMap.NO_VALUE ? -1 : rowNums[position];
+    }
+
+    public List<Employee> getEmployees() {
+        return employees;
+    }
+
+    public int size() {
+        return employees.size();
+    }
+
+    public boolean hasDuplicates() {
+        return !duplicates.isEmpty();
+    }
+
+    public List<DuplicateKey> getDuplicates() {
+        return duplicates;
+    }
+
+    public void printDuplicates(PrintStream out) {
+        out.println("Duplicate keys: " + duplicates.size());
+        for (DuplicateKey duplicate : duplicates) {
+            out.println("  " + duplicate);
+        }
+    }
+
+    private Employee employee(int position) {
+        return position == LongIntHashMap.NO_VALUE ? null : employees.get(position);
+    }
+
+    public static class Builder {
+        private static final int INITIAL_CAPACITY = 1024;
+
+        private final List<Employee> employees = new ArrayList<>();
+        private int[] rowNums = new int[INITIAL_CAPACITY];
+        private final LongIntHashMap byId = new LongIntHashMap();
+        private final Map<String, Integer> byIban = new HashMap<>();
+        private final Map<String, Integer> byEmail = new HashMap<>();
+        private final List<DuplicateKey> duplicates = new ArrayList<>();
+
+        public Builder add(int rowNum, Employee employee) {
+            int position = employees.size();
+            if (position == rowNums.length)
+                rowNums = Arrays.copyOf(rowNums, position * 2);
+            employees.add(employee);
+            rowNums[position] = rowNum;
+
+            int first = byId.putIfAbsent(employee.getId(), position);
+            if (first != LongIntHashMap.NO_VALUE) {
+                duplicates.add(new DuplicateKey(
+                        DuplicateKey.Kind.ID, Long.toString(employee.getId()), rowNums[first], rowNum));
+            }
+
+            BankAccount bankAccount = employee.getBankAccount();
+            if (bankAccount != null && bankAccount.getIban() != null) {
+                Integer firstIban = byIban.putIfAbsent(bankAccount.getIban(), position);
+                if (firstIban != null) {
+                    duplicates.add(new DuplicateKey(
+                            DuplicateKey.Kind.IBAN, bankAccount.getIban(), rowNums[firstIban], rowNum));
+                }
+            }
+
+            if (employee.getEmail() != null)
+                byEmail.putIfAbsent(employee.getEmail(), position);
+            return this;
+        }
+
+        public EmployeeIndex build() {
+            return new EmployeeIndex(this);
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.xlsx_reader.index;
+
+import java.util.Arrays;
+
+// open addressing with linear probing over parallel primitive arrays, so ids are never boxed
+final class LongIntHashMap {
+    static final int NO_VALUE = -1;
+
+    private static final int INITIAL_CAPACITY = 1024;
+
+    private long[] keys;
+    private int[] values;
+    private int size;
+    private int mask;
+
+    LongIntHashMap() {
+        allocate(INITIAL_CAPACITY);
+    }
+
+    int get(long key) {
+        for (int slot = slot(key); ; slot = (slot + 1) & mask) {
+            int value = values[slot];
+            if (value == NO_VALUE || keys[slot] == key)
+                return value;
+        }
+    }
+
+    // keeps the existing value and returns it if the key is already present, NO_VALUE otherwise
+    int putIfAbsent(long key, int value) {
+        if (value < 0)
+            throw new IllegalArgumentException("Value must not be negative: " + value);
+        int slot = slot(key);
+        while (values[slot] != NO_VALUE) {
+            if (keys[slot] == key)
+                return values[slot];
+            slot = (slot + 1) & mask;
+        }
+        keys[slot] = key;
+        values[slot] = value;
+        // keep the load factor at or below one half
+        if (++size * 2 > values.length)
+            rehash();
+        return NO_VALUE;
+    }
+
+    int size() {
+        return size;
+    }
+
+    private int slot(long key) {
+        long hash = key * 0x9E3779B97F4A7C15L;
+        return (int) (hash ^ (hash >>> 32)) & mask;
+    }
+
+    private void rehash() {
+        long[] oldKeys = keys;
+        int[] oldValues = values;
+        allocate(oldValues.length * 2);
+        for (int i = 0; i < oldValues.length; i++) {
+            if (oldValues[i] == NO_VALUE)
+                continue;
+            int slot = slot(oldKeys[i]);
+            while (values[slot] != NO_VALUE) {
+                slot = (slot + 1) & mask;
+            }
+            keys[slot] = oldKeys[i];
+            values[slot] = oldValues[i];
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        values = new int[capacity];
+        Arrays.fill(values, NO_VALUE);
+        mask = capacity - 1;
+    }
+}
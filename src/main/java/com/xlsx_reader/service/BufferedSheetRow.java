@@ -0,0 +1,111 @@
+package com.xlsx_reader.service;
+
+import org.apache.poi.ss.usermodel.CellType;
+
+import java.util.Arrays;
+
+class BufferedSheetRow implements SheetRow {
+    private static final int INITIAL_CAPACITY = 32;
+
+    private int rowNum;
+    private int lastColumn = -1;
+    private CellType[] types;
+    private double[] numbers;
+    private String[] strings;
+
+    BufferedSheetRow() {
+        this(INITIAL_CAPACITY);
+    }
+
+    private BufferedSheetRow(int capacity) {
+        types = new CellType[capacity];
+        numbers = new double[capacity];
+        strings = new String[capacity];
+    }
+
+    static BufferedSheetRow copyOf(SheetRow row, int columnCount) {
+        BufferedSheetRow copy = new BufferedSheetRow(columnCount);
+        copy.rowNum = row.getRowNum();
+        for (int i = 0; i < columnCount; i++) {
+            CellType type = row.getCellType(i);
+            if (type == null)
+                continue;
+            switch (type) {
+                case NUMERIC -> copy.setNumeric(i, row.getNumericCellValue(i));
+                case STRING -> copy.setString(i, row.getStringCellValue(i));
+                case BOOLEAN -> copy.setBoolean(i, row.getBooleanCellValue(i));
+                default -> copy.setType(i, type);
+            }
+        }
+        return copy;
+    }
+
+    void reset(int rowNum) {
+        for (int i = 0; i <= lastColumn; i++) {
+            types[i] = null;
+            strings[i] = null;
+        }
+        this.rowNum = rowNum;
+        this.lastColumn = -1;
+    }
+
+    void setNumeric(int columnIndex, double value) {
+        set(columnIndex, CellType.NUMERIC);
+        numbers[columnIndex] = value;
+    }
+
+    void setString(int columnIndex, String value) {
+        set(columnIndex, CellType.STRING);
+        strings[columnIndex] = value;
+    }
+
+    void setBoolean(int columnIndex, boolean value) {
+        set(columnIndex, CellType.BOOLEAN);
+        numbers[columnIndex] = value ? 1 : 0;
+    }
+
+    void setType(int columnIndex, CellType type) {
+        set(columnIndex, type);
+    }
+
+    private void set(int columnIndex, CellType type) {
+        if (columnIndex >= types.length) {
+            int capacity = Math.max(columnIndex + 1, Math.max(types.length * 2, 1));
+            types = Arrays.copyOf(types, capacity);
+            numbers = Arrays.copyOf(numbers, capacity);
+            strings = Arrays.copyOf(strings, capacity);
+        }
+        types[columnIndex] = type;
+        lastColumn = Math.max(lastColumn, columnIndex);
+    }
+
+    @Override
+    public int getRowNum() {
+        return rowNum;
+    }
+
+    @Override
+    public int getLastColumn() {
+        return lastColumn;
+    }
+
+    @Override
+    public CellType getCellType(int columnIndex) {
+        return columnIndex <= lastColumn ? types[columnIndex] : null;
+    }
+
+    @Override
+    public double getNumericCellValue(int columnIndex) {
+        return numbers[columnIndex];
+    }
+
+    @Override
+    public String getStringCellValue(int columnIndex) {
+        return strings[columnIndex];
+    }
+
+    @Override
+    public boolean getBooleanCellValue(int columnIndex) {
+        return numbers[columnIndex] != 0;
+    }
+}
@@ -0,0 +1,139 @@
+package com.xlsx_reader.service;
+
+import com.xlsx_reader.exception.ExcelParsingException;
+import org.apache.poi.ss.usermodel.CellType;
+
+final class ColumnConverters {
+    private ColumnConverters() {
+    }
+
+    static final class StringColumn {
+        private final int columnIndex;
+
+        StringColumn(int columnIndex) {
+            this.columnIndex = columnIndex;
+        }
+
+        String read(SheetRow row) throws ExcelParsingException {
+            CellType cellType = row.getCellType(columnIndex);
+            if (cellType == null)
+                return null;
+
+            return switch (cellType) {
+                case STRING -> row.getStringCellValue(columnIndex);
+                case NUMERIC -> numericToString(row.getNumericCellValue(columnIndex));
+                case BOOLEAN -> row.getBooleanCellValue(columnIndex) ? "true" : "false";
+                case BLANK -> null;
+                default -> throw unsupported(cellType, columnIndex);
+            };
+        }
+
+        int getColumnIndex() {
+            return columnIndex;
+        }
+    }
+
+    static final class LongColumn {
+        private final int columnIndex;
+
+        LongColumn(int columnIndex) {
+            this.columnIndex = columnIndex;
+        }
+
+        long read(SheetRow row, long missingValue) throws ExcelParsingException {
+            CellType cellType = row.getCellType(columnIndex);
+            if (cellType == null)
+                return missingValue;
+
+            return switch (cellType) {
+                case NUMERIC -> (long) row.getNumericCellValue(columnIndex);
+                case BLANK -> missingValue;
+                case STRING, BOOLEAN -> throw mismatch("Long", cellType, columnIndex, row);
+                default -> throw unsupported(cellType, columnIndex);
+            };
+        }
+
+        boolean isZeroOrMissing(SheetRow row) {
+            CellType cellType = row.getCellType(columnIndex);
+            return cellType == null || cellType == CellType.BLANK
+                    || cellType == CellType.NUMERIC && (long) row.getNumericCellValue(columnIndex) == 0;
+        }
+
+        // 0 when the cell is not numeric
+        long readIfNumeric(SheetRow row) {
+            return row.getCellType(columnIndex) == CellType.NUMERIC ? (long) row.getNumericCellValue(columnIndex) : 0;
+        }
+
+        int getColumnIndex() {
+            return columnIndex;
+        }
+    }
+
+    static final class IntColumn {
+        private final int columnIndex;
+
+        IntColumn(int columnIndex) {
+            this.columnIndex = columnIndex;
+        }
+
+        int read(SheetRow row) throws ExcelParsingException {
+            CellType cellType = row.getCellType(columnIndex);
+            if (cellType == null || cellType == CellType.BLANK)
+                throw missing("Integer", columnIndex, row);
+
+            return switch (cellType) {
+                case NUMERIC -> (int) row.getNumericCellValue(columnIndex);
+                case STRING, BOOLEAN -> throw mismatch("Integer", cellType, columnIndex, row);
+                default -> throw unsupported(cellType, columnIndex);
+            };
+        }
+
+        int getColumnIndex() {
+            return columnIndex;
+        }
+    }
+
+    static final class BooleanColumn {
+        private final int columnIndex;
+
+        BooleanColumn(int columnIndex) {
+            this.columnIndex = columnIndex;
+        }
+
+        boolean read(SheetRow row) throws ExcelParsingException {
+            CellType cellType = row.getCellType(columnIndex);
+            if (cellType == null || cellType == CellType.BLANK)
+                throw missing("Boolean", columnIndex, row);
+
+            return switch (cellType) {
+                case BOOLEAN -> row.getBooleanCellValue(columnIndex);
+                case STRING, NUMERIC -> throw mismatch("Boolean", cellType, columnIndex, row);
+                default -> throw unsupported(cellType, columnIndex);
+            };
+        }
+
+        int getColumnIndex() {
+            return columnIndex;
+        }
+    }
+
+    private static String numericToString(double numericValue) {
+        long integralValue = (long) numericValue;
+        return integralValue == numericValue ? Long.toString(integralValue) : Double.toString(numericValue);
+    }
+
+    private static ConversionException mismatch(String expected, CellType cellType, int columnIndex, SheetRow row) {
+        return new ConversionException(
+                "Expected " + expected + " but got " + cellType + " at row: " + row.getRowNum(), columnIndex);
+    }
+
+    private static ConversionException missing(String expected, int columnIndex, SheetRow row) {
+        return new ConversionException(
+                "Expected " + expected + " but cell at index " + columnIndex + " is empty at row: " + row.getRowNum(),
+                columnIndex);
+    }
+
+    private static ConversionException unsupported(CellType cellType, int columnIndex) {
+        return new ConversionException("Unsupported cell type: " + cellType, columnIndex);
+    }
+}
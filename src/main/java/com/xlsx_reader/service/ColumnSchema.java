@@ -0,0 +1,221 @@
+package com.xlsx_reader.service;
+
+import com.xlsx_reader.exception.ExcelParsingException;
+import org.apache.poi.ss.usermodel.CellType;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+
+public final class ColumnSchema {
+    private static final int FIELD_COUNT = EmployeeField.values().length;
+    private static final int MAX_CACHED_LAYOUTS = 64;
+    private static final String HEADER_PREFIX = "header:";
+
+    public static final ColumnSchema DEFAULT = fixed(defaultColumns(), XlsxReaderService.HEADER_ROWS_TO_SKIP);
+
+    private final int[] columns;
+    private final String[] headerNames;
+    private final int headerRowIndex;
+    private final int firstDataRow;
+    private final EmployeeColumns fixedColumns;
+    private final Map<String, EmployeeColumns> resolvedLayouts = new ConcurrentHashMap<>();
+
+    private ColumnSchema(int[] columns, String[] headerNames, int headerRowIndex, int firstDataRow) {
+        this.columns = columns;
+        this.headerNames = headerNames;
+        this.headerRowIndex = headerRowIndex;
+        this.firstDataRow = firstDataRow;
+        this.fixedColumns = headerRowIndex < 0 ? new EmployeeColumns(columns) : null;
+    }
+
+    public static ColumnSchema fixed(Map<EmployeeField, Integer> columns, int firstDataRow) {
+        int[] resolved = new int[FIELD_COUNT];
+        for (EmployeeField field : EmployeeField.values()) {
+            Integer column = columns.get(field);
+            if (column == null || column < 0)
+                throw new IllegalArgumentException("No column for field " + field.getKey());
+            resolved[field.ordinal()] = column;
+        }
+        return new ColumnSchema(resolved, new String[FIELD_COUNT], -1, firstDataRow);
+    }
+
+    public static ColumnSchema byHeader() {
+        return byHeader(XlsxReaderService.HEADER_ROWS_TO_SKIP - 1);
+    }
+
+    public static ColumnSchema byHeader(int headerRowIndex) {
+        String[] names = new String[FIELD_COUNT];
+        for (EmployeeField field : EmployeeField.values()) {
+            names[field.ordinal()] = normalize(field.getDefaultHeader());
+        }
+        return byHeader(names, headerRowIndex, headerRowIndex + 1);
+    }
+
+    public static ColumnSchema byHeader(Map<EmployeeField, String> headerNames, int headerRowIndex) {
+        String[] names = new String[FIELD_COUNT];
+        for (EmployeeField field : EmployeeField.values()) {
+            names[field.ordinal()] = normalize(headerNames.getOrDefault(field, field.getDefaultHeader()));
+        }
+        return byHeader(names, headerRowIndex, headerRowIndex + 1);
+    }
+
+    private static ColumnSchema byHeader(String[] names, int headerRowIndex, int firstDataRow) {
+        int[] unresolved = new int[FIELD_COUNT];
+        Arrays.fill(unresolved, -1);
+        return new ColumnSchema(unresolved, names, headerRowIndex, firstDataRow);
+    }
+
+    // Each field maps to a column letter ("C"), a 0-based column index ("2") or a header name
+    // ("header:email"). headerRow and firstDataRow are 0-based row numbers.
+    public static ColumnSchema load(Path mappingFile) throws IOException {
+        Properties properties = new Properties();
+        try (Reader reader = Files.newBufferedReader(mappingFile, StandardCharsets.UTF_8)) {
+            properties.load(reader);
+        }
+
+        int[] resolved = new int[FIELD_COUNT];
+        String[] names = new String[FIELD_COUNT];
+        boolean needsHeader = false;
+        for (EmployeeField field : EmployeeField.values()) {
+            String value = properties.getProperty(field.getKey());
+            if (value == null) {
+                resolved[field.ordinal()] = field.getDefaultColumn();
+            } else if (value.trim().startsWith(HEADER_PREFIX)) {
+                resolved[field.ordinal()] = -1;
+                names[field.ordinal()] = normalize(value.trim().substring(HEADER_PREFIX.length()));
+                needsHeader = true;
+            } else {
+                resolved[field.ordinal()] = parseColumn(value.trim(), field, mappingFile);
+            }
+        }
+
+        int firstDataRow = intProperty(properties, "firstDataRow", XlsxReaderService.HEADER_ROWS_TO_SKIP, mappingFile);
+        int headerRow = intProperty(properties, "headerRow", firstDataRow - 1, mappingFile);
+        if (needsHeader && (headerRow < 0 || headerRow >= firstDataRow)) {
+            throw new IOException("headerRow must be before firstDataRow in " + mappingFile);
+        }
+        return new ColumnSchema(resolved, names, needsHeader ? headerRow : -1, firstDataRow);
+    }
+
+    public String getVersion() {
+        return Arrays.toString(columns) + Arrays.toString(headerNames) + headerRowIndex + "/" + firstDataRow;
+    }
+
+    public int getHeaderRowIndex() {
+        return headerRowIndex;
+    }
+
+    public int getFirstDataRow() {
+        return firstDataRow;
+    }
+
+    boolean isHeaderDriven() {
+        return headerRowIndex >= 0;
+    }
+
+    EmployeeColumns fixedColumns() {
+        return fixedColumns;
+    }
+
+    EmployeeColumns resolve(SheetRow headerRow) throws ExcelParsingException {
+        String fingerprint = fingerprint(headerRow);
+        EmployeeColumns cached = resolvedLayouts.get(fingerprint);
+        if (cached != null)
+            return cached;
+
+        int[] resolved = columns.clone();
+        for (int field = 0; field < FIELD_COUNT; field++) {
+            if (resolved[field] >= 0)
+                continue;
+            resolved[field] = findHeader(headerRow, headerNames[field]);
+            if (resolved[field] < 0) {
+                throw new ExcelParsingException("Column '" + headerNames[field] + "' not found in header row: "
+                        + headerRow.getRowNum());
+            }
+        }
+
+        EmployeeColumns layout = new EmployeeColumns(resolved);
+        if (resolvedLayouts.size() >= MAX_CACHED_LAYOUTS) {
+            resolvedLayouts.clear();
+        }
+        resolvedLayouts.put(fingerprint, layout);
+        return layout;
+    }
+
+    int cachedLayouts() {
+        return resolvedLayouts.size();
+    }
+
+    private static String fingerprint(SheetRow headerRow) {
+        StringBuilder fingerprint = new StringBuilder();
+        for (int i = 0; i <= headerRow.getLastColumn(); i++) {
+            String header = headerText(headerRow, i);
+            if (header != null) {
+                fingerprint.append(i).append('=').append(header).append('\u0000');
+            }
+        }
+        return fingerprint.toString();
+    }
+
+    private static int findHeader(SheetRow headerRow, String name) {
+        for (int i = 0; i <= headerRow.getLastColumn(); i++) {
+            if (name.equals(headerText(headerRow, i)))
+                return i;
+        }
+        return -1;
+    }
+
+    private static String headerText(SheetRow row, int columnIndex) {
+        if (row.getCellType(columnIndex) != CellType.STRING)
+            return null;
+        String text = normalize(row.getStringCellValue(columnIndex));
+        return text.isEmpty() ? null : text;
+    }
+
+    private static String normalize(String header) {
+        return header.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static int parseColumn(String value, EmployeeField field, Path mappingFile) throws IOException {
+        if (!value.isEmpty() && value.chars().allMatch(Character::isDigit)) {
+            return Integer.parseInt(value);
+        }
+        if (!value.isEmpty() && value.chars().allMatch(c -> c >= 'A' && c <= 'Z')) {
+            int column = 0;
+            for (int i = 0; i < value.length(); i++) {
+                column = column * 26 + (value.charAt(i) - 'A' + 1);
+            }
+            return column - 1;
+        }
+        throw new IOException("Invalid column '" + value + "' for " + field.getKey() + " in " + mappingFile);
+    }
+
+    private static int intProperty(Properties properties, String key, int defaultValue, Path mappingFile)
+            throws IOException {
+        String value = properties.getProperty(key);
+        if (value == null)
+            return defaultValue;
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            throw new IOException("Invalid " + key + " '" + value + "' in " + mappingFile, e);
+        }
+    }
+
+    private static Map<EmployeeField, Integer> defaultColumns() {
+        Map<EmployeeField, Integer> columns = new EnumMap<>(EmployeeField.class);
+        for (EmployeeField field : EmployeeField.values()) {
+            columns.put(field, field.getDefaultColumn());
+        }
+        return columns;
+    }
+}
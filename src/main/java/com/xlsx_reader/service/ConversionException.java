@@ -0,0 +1,19 @@
+package com.xlsx_reader.service;
+
+import com.xlsx_reader.exception.ExcelParsingException;
+
+// thrown for every bad cell, so it skips the stack trace; the "Error processing row" wrapper keeps one
+class ConversionException extends ExcelParsingException {
+    static final int WHOLE_ROW = -1;
+
+    private final int columnIndex;
+
+    ConversionException(String message, int columnIndex) {
+        super(message, null, false);
+        this.columnIndex = columnIndex;
+    }
+
+    int getColumnIndex() {
+        return columnIndex;
+    }
+}
@@ -0,0 +1,49 @@
+package com.xlsx_reader.service;
+
+import com.xlsx_reader.exception.ExcelParsingException;
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+
+import java.util.ArrayList;
+import java.util.List;
+
+class DomWorkbook implements SheetWorkbook {
+    private final WorkbookSource source;
+    private final OPCPackage pkg;
+    private final XSSFWorkbook workbook;
+    private final List<String> sheetNames = new ArrayList<>();
+
+    DomWorkbook(WorkbookSource source) throws ExcelParsingException {
+        this.source = source;
+        pkg = source.open();
+        try {
+            workbook = new XSSFWorkbook(pkg);
+        } catch (Exception e) {
+            pkg.revert();
+            throw new ExcelParsingException("Error reading Excel file: " + e.getMessage(), e);
+        }
+        for (int i = 0; i < workbook.getNumberOfSheets(); i++) {
+            sheetNames.add(workbook.getSheetName(i));
+        }
+    }
+
+    @Override
+    public List<String> getSheetNames() {
+        return sheetNames;
+    }
+
+    // the loaded sheets are only read, so they can be iterated from several threads at once
+    @Override
+    public SheetRowReader openSheet(int sheetIndex, StringPool stringPool) throws ExcelParsingException {
+        if (sheetNames.isEmpty()) {
+            throw new ExcelParsingException("Workbook contains no sheets: " + source);
+        }
+        return new WorkbookSheetReader(workbook.getSheetAt(sheetIndex));
+    }
+
+    // the package is only read, so it is released without writing anything back
+    @Override
+    public void close() {
+        pkg.revert();
+    }
+}
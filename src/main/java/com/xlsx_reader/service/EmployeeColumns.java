@@ -0,0 +1,51 @@
+package com.xlsx_reader.service;
+
+import com.xlsx_reader.service.ColumnConverters.BooleanColumn;
+import com.xlsx_reader.service.ColumnConverters.IntColumn;
+import com.xlsx_reader.service.ColumnConverters.LongColumn;
+import com.xlsx_reader.service.ColumnConverters.StringColumn;
+
+final class EmployeeColumns {
+    final LongColumn id;
+    final StringColumn email;
+    final StringColumn phone;
+    final StringColumn address;
+    final StringColumn firstName;
+    final StringColumn lastName;
+    final BooleanColumn hasChildren;
+    final IntColumn age;
+    final StringColumn companyName;
+    final StringColumn companyType;
+    final StringColumn iban;
+    final StringColumn bic;
+    final StringColumn accountHolder;
+    final int columnCount;
+    private final int[] columns;
+
+    EmployeeColumns(int[] columns) {
+        this.columns = columns.clone();
+        this.id = new LongColumn(columns[EmployeeField.ID.ordinal()]);
+        this.email = new StringColumn(columns[EmployeeField.EMAIL.ordinal()]);
+        this.phone = new StringColumn(columns[EmployeeField.PHONE.ordinal()]);
+        this.address = new StringColumn(columns[EmployeeField.ADDRESS.ordinal()]);
+        this.firstName = new StringColumn(columns[EmployeeField.FIRST_NAME.ordinal()]);
+        this.lastName = new StringColumn(columns[EmployeeField.LAST_NAME.ordinal()]);
+        this.hasChildren = new BooleanColumn(columns[EmployeeField.HAS_CHILDREN.ordinal()]);
+        this.age = new IntColumn(columns[EmployeeField.AGE.ordinal()]);
+        this.companyName = new StringColumn(columns[EmployeeField.COMPANY_NAME.ordinal()]);
+        this.companyType = new StringColumn(columns[EmployeeField.COMPANY_TYPE.ordinal()]);
+        this.iban = new StringColumn(columns[EmployeeField.IBAN.ordinal()]);
+        this.bic = new StringColumn(columns[EmployeeField.BIC.ordinal()]);
+        this.accountHolder = new StringColumn(columns[EmployeeField.ACCOUNT_HOLDER.ordinal()]);
+
+        int max = 0;
+        for (int column : columns) {
+            max = Math.max(max, column);
+        }
+        this.columnCount = max + 1;
+    }
+
+    int columnOf(EmployeeField field) {
+        return columns[field.ordinal()];
+    }
+}
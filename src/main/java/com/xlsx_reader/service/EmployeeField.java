@@ -0,0 +1,40 @@
+package com.xlsx_reader.service;
+
+import java.util.Locale;
+
+public enum EmployeeField {
+    ID("id", XlsxReaderService.ID_COL),
+    EMAIL("email", XlsxReaderService.EMAIL_COL),
+    PHONE("phone", XlsxReaderService.PHONE_COL),
+    ADDRESS("address", XlsxReaderService.ADDRESS_COL),
+    FIRST_NAME("first name", XlsxReaderService.FIRST_NAME_COL),
+    LAST_NAME("last name", XlsxReaderService.LAST_NAME_COL),
+    HAS_CHILDREN("has children", XlsxReaderService.HAS_CHILDREN_COL),
+    AGE("age", XlsxReaderService.AGE_COL),
+    COMPANY_NAME("company name", XlsxReaderService.COMPANY_NAME_COL),
+    COMPANY_TYPE("type", XlsxReaderService.COMPANY_TYPE_COL),
+    IBAN("iban", XlsxReaderService.IBAN_COL),
+    BIC("bic", XlsxReaderService.BIC_COL),
+    ACCOUNT_HOLDER("account holder", XlsxReaderService.ACCOUNT_HOLDER_COL);
+
+    private final String defaultHeader;
+    private final int defaultColumn;
+
+    EmployeeField(String defaultHeader, int defaultColumn) {
+        this.defaultHeader = defaultHeader;
+        this.defaultColumn = defaultColumn;
+    }
+
+    public String getDefaultHeader() {
+        return defaultHeader;
+    }
+
+    public int getDefaultColumn() {
+        return defaultColumn;
+    }
+
+    // mapping files are written in English whatever the JVM locale, e.g. "ID" must not lower-case to a dotless i under Turkish
+    public String getKey() {
+        return name().toLowerCase(Locale.ROOT).replace('_', '.');
+    }
+}
@@ -0,0 +1,10 @@
+package com.xlsx_reader.service;
+
+import com.xlsx_reader.domain.Employee;
+
+import java.util.Iterator;
+
+public interface EmployeeIterator extends Iterator<Employee>, AutoCloseable {
+    @Override
+    void close();
+}
@@ -0,0 +1,122 @@
+package com.xlsx_reader.service;
+
+import com.xlsx_reader.domain.CompanyType;
+
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.Set;
+
+// an immutable filter plus projection; every method returns a narrowed copy
+public final class EmployeeQuery {
+    private static final EmployeeQuery ALL = new EmployeeQuery(
+            null, Integer.MIN_VALUE, Integer.MAX_VALUE, null, null, EnumSet.allOf(EmployeeField.class));
+
+    // null means either
+    private final Boolean individuals;
+    private final int minAge;
+    private final int maxAge;
+    private final Set<CompanyType> companyTypes;
+    private final Boolean hasChildren;
+    private final Set<EmployeeField> fields;
+
+    private EmployeeQuery(
+            Boolean individuals,
+            int minAge,
+            int maxAge,
+            Set<CompanyType> companyTypes,
+            Boolean hasChildren,
+            Set<EmployeeField> fields) {
+        this.individuals = individuals;
+        this.minAge = minAge;
+        this.maxAge = maxAge;
+        this.companyTypes = companyTypes;
+        this.hasChildren = hasChildren;
+        this.fields = fields;
+    }
+
+    public static EmployeeQuery all() {
+        return ALL;
+    }
+
+    public EmployeeQuery individuals() {
+        return new EmployeeQuery(restrictTo(true), minAge, maxAge, companyTypes, hasChildren, fields);
+    }
+
+    public EmployeeQuery companies() {
+        return new EmployeeQuery(restrictTo(false), minAge, maxAge, companyTypes, hasChildren, fields);
+    }
+
+    // both bounds inclusive; only individuals have an age
+    public EmployeeQuery ageBetween(int minAge, int maxAge) {
+        return new EmployeeQuery(restrictTo(true), minAge, maxAge, companyTypes, hasChildren, fields);
+    }
+
+    public EmployeeQuery companyTypes(CompanyType... companyTypes) {
+        Set<CompanyType> types = EnumSet.noneOf(CompanyType.class);
+        types.addAll(Arrays.asList(companyTypes));
+        return new EmployeeQuery(restrictTo(false), minAge, maxAge, types, hasChildren, fields);
+    }
+
+    public EmployeeQuery hasChildren(boolean hasChildren) {
+        return new EmployeeQuery(restrictTo(true), minAge, maxAge, companyTypes, hasChildren, fields);
+    }
+
+    // fields left out are null, or 0 and false, in the returned employees; the id is always read
+    public EmployeeQuery fields(EmployeeField... fields) {
+        Set<EmployeeField> projected = EnumSet.of(EmployeeField.ID, fields);
+        return new EmployeeQuery(individuals, minAge, maxAge, companyTypes, hasChildren, projected);
+    }
+
+    // age and hasChildren only match individuals and company types only companies, so mixing them
+    // would build a query that can never match
+    private boolean restrictTo(boolean individual) {
+        if (individuals != null && individuals != individual)
+            throw new IllegalStateException(individuals
+                    ? "Query already restricted to individuals, a company filter would match nothing"
+                    : "Query already restricted to companies, an individual filter would match nothing");
+        return individual;
+    }
+
+    boolean acceptsType(boolean individual) {
+        return individuals == null || individuals == individual;
+    }
+
+    boolean filtersAge() {
+        return minAge != Integer.MIN_VALUE || maxAge != Integer.MAX_VALUE;
+    }
+
+    boolean acceptsAge(int age) {
+        return age >= minAge && age <= maxAge;
+    }
+
+    boolean filtersHasChildren() {
+        return hasChildren != null;
+    }
+
+    boolean acceptsHasChildren(boolean value) {
+        return hasChildren == null || hasChildren == value;
+    }
+
+    boolean acceptsCompanyType(CompanyType companyType) {
+        return companyTypes == null || companyTypes.contains(companyType);
+    }
+
+    boolean projects(EmployeeField field) {
+        return fields.contains(field);
+    }
+
+    // whether the column is read, to filter on it or to return it
+    boolean reads(EmployeeField field) {
+        return switch (field) {
+            case AGE -> filtersAge() || projects(field);
+            case HAS_CHILDREN -> filtersHasChildren() || projects(field);
+            case FIRST_NAME, LAST_NAME, COMPANY_NAME, COMPANY_TYPE -> true;
+            case IBAN, BIC, ACCOUNT_HOLDER -> projectsBankAccount();
+            default -> projects(field);
+        };
+    }
+
+    boolean projectsBankAccount() {
+        return projects(EmployeeField.IBAN) || projects(EmployeeField.BIC) || projects(EmployeeField.ACCOUNT_HOLDER);
+    }
+}
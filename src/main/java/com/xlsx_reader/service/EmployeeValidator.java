@@ -0,0 +1,168 @@
+package com.xlsx_reader.service;
+
+import com.xlsx_reader.domain.BankAccount;
+import com.xlsx_reader.domain.Employee;
+import com.xlsx_reader.domain.Individual;
+
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.Set;
+
+// immutable set of checks run on every converted row. The checks scan the characters directly, so
+// a valid row allocates nothing; empty optional values such as a blank email pass.
+public final class EmployeeValidator {
+    public static final int DEFAULT_MIN_AGE = 0;
+    public static final int DEFAULT_MAX_AGE = 130;
+
+    private static final int IBAN_MIN_LENGTH = 15;
+    private static final int IBAN_MAX_LENGTH = 34;
+    private static final EmployeeValidator STANDARD = new EmployeeValidator(
+            EnumSet.of(EmployeeField.IBAN, EmployeeField.BIC, EmployeeField.EMAIL, EmployeeField.AGE),
+            DEFAULT_MIN_AGE, DEFAULT_MAX_AGE);
+
+    private final Set<EmployeeField> fields;
+    private final int minAge;
+    private final int maxAge;
+
+    private EmployeeValidator(Set<EmployeeField> fields, int minAge, int maxAge) {
+        this.fields = fields;
+        this.minAge = minAge;
+        this.maxAge = maxAge;
+    }
+
+    // IBAN checksum, BIC format, email syntax and an age between 0 and 130
+    public static EmployeeValidator standard() {
+        return STANDARD;
+    }
+
+    public EmployeeValidator ageBetween(int minAge, int maxAge) {
+        if (minAge > maxAge)
+            throw new IllegalArgumentException("Min age " + minAge + " is greater than max age " + maxAge);
+        return new EmployeeValidator(fields, minAge, maxAge);
+    }
+
+    public EmployeeValidator skip(EmployeeField... skipped) {
+        Set<EmployeeField> remaining = EnumSet.copyOf(fields);
+        remaining.removeAll(Arrays.asList(skipped));
+        return new EmployeeValidator(remaining, minAge, maxAge);
+    }
+
+    // identifies the checks, so results cached under one validator are not reused under another
+    public String getVersion() {
+        return fields + "/" + minAge + "-" + maxAge;
+    }
+
+    // the first field that fails, or null when the employee is valid; with a query, only the
+    // fields it read are checked
+    EmployeeField check(Employee employee, EmployeeQuery query) {
+        BankAccount bankAccount = employee.getBankAccount();
+        if (bankAccount != null) {
+            if (checks(EmployeeField.IBAN, query) && !isValidIban(bankAccount.getIban()))
+                return EmployeeField.IBAN;
+            if (checks(EmployeeField.BIC, query) && !isValidBic(bankAccount.getBic()))
+                return EmployeeField.BIC;
+        }
+        if (checks(EmployeeField.EMAIL, query) && employee.getEmail() != null && !isValidEmail(employee.getEmail()))
+            return EmployeeField.EMAIL;
+        if (checks(EmployeeField.AGE, query) && employee instanceof Individual individual
+                && (individual.getAge() < minAge || individual.getAge() > maxAge))
+            return EmployeeField.AGE;
+        return null;
+    }
+
+    private boolean checks(EmployeeField field, EmployeeQuery query) {
+        return fields.contains(field) && (query == null || query.reads(field));
+    }
+
+    static String describe(EmployeeField field) {
+        return switch (field) {
+            case IBAN -> "Invalid IBAN";
+            case BIC -> "Invalid BIC";
+            case EMAIL -> "Invalid email";
+            case AGE -> "Age out of range";
+            default -> "Invalid " + field.getDefaultHeader();
+        };
+    }
+
+    // ISO 13616: country code, check digits, then a BBAN; spaces between groups are ignored. The
+    // mod-97 remainder is folded one character at a time instead of building the rearranged number.
+    public static boolean isValidIban(String iban) {
+        if (iban == null)
+            return false;
+        int length = 0;
+        int remainder = 0;
+        // the first four characters move to the end, so the BBAN is folded first
+        for (int pass = 0; pass < 2; pass++) {
+            int position = 0;
+            for (int i = 0; i < iban.length(); i++) {
+                char c = iban.charAt(i);
+                if (c == ' ')
+                    continue;
+                boolean head = position++ < 4;
+                if (head != (pass == 1))
+                    continue;
+                if (head && !(position <= 2 ? isLetter(c) : isDigit(c)))
+                    return false;
+
+                if (isDigit(c)) {
+                    remainder = (remainder * 10 + (c - '0')) % 97;
+                } else if (isLetter(c)) {
+                    remainder = (remainder * 100 + (Character.toUpperCase(c) - 'A' + 10)) % 97;
+                } else {
+                    return false;
+                }
+            }
+            length = position;
+        }
+        return length >= IBAN_MIN_LENGTH && length <= IBAN_MAX_LENGTH && remainder == 1;
+    }
+
+    // ISO 9362: 4 letter bank code, 2 letter country code, 2 character location, optional 3 character branch
+    public static boolean isValidBic(String bic) {
+        if (bic == null || (bic.length() != 8 && bic.length() != 11))
+            return false;
+        for (int i = 0; i < bic.length(); i++) {
+            char c = bic.charAt(i);
+            boolean valid = i < 6 ? c >= 'A' && c <= 'Z' : c >= 'A' && c <= 'Z' || isDigit(c);
+            if (!valid)
+                return false;
+        }
+        return true;
+    }
+
+    // a pragmatic subset of RFC 5322: a local part without spaces, then a domain of at least two
+    // dot separated labels made of letters, digits and inner hyphens
+    public static boolean isValidEmail(String email) {
+        int at = email.indexOf('@');
+        if (at <= 0 || at != email.lastIndexOf('@'))
+            return false;
+        for (int i = 0; i < at; i++) {
+            char c = email.charAt(i);
+            if (c <= ' ' || c == '(' || c == ')' || c == ',' || c == ';' || c == ':' || c == '<' || c == '>')
+                return false;
+        }
+
+        int labels = 0;
+        int labelStart = at + 1;
+        for (int i = labelStart; i <= email.length(); i++) {
+            char c = i < email.length() ? email.charAt(i) : '.';
+            if (c == '.') {
+                if (i == labelStart || email.charAt(i - 1) == '-' || email.charAt(labelStart) == '-')
+                    return false;
+                labels++;
+                labelStart = i + 1;
+            } else if (!isLetter(c) && !isDigit(c) && c != '-') {
+                return false;
+            }
+        }
+        return labels >= 2;
+    }
+
+    private static boolean isLetter(char c) {
+        return c >= 'A' && c <= 'Z' || c >= 'a' && c <= 'z';
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+}
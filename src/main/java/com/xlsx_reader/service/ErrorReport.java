@@ -0,0 +1,62 @@
+package com.xlsx_reader.service;
+
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.List;
+
+// keeps the first maxErrors errors in preallocated arrays and only counts the rest
+public class ErrorReport {
+    private final int[] rowNums;
+    private final int[] columns;
+    private final String[] messages;
+    private int size;
+    private long total;
+
+    public ErrorReport(int maxErrors) {
+        if (maxErrors < 0)
+            throw new IllegalArgumentException("Max errors must not be negative: " + maxErrors);
+        this.rowNums = new int[maxErrors];
+        this.columns = new int[maxErrors];
+        this.messages = new String[maxErrors];
+    }
+
+    void add(int rowNum, int columnIndex, String message) {
+        total++;
+        if (size == rowNums.length)
+            return;
+        rowNums[size] = rowNum;
+        columns[size] = columnIndex;
+        messages[size] = message;
+        size++;
+    }
+
+    public boolean isEmpty() {
+        return total == 0;
+    }
+
+    public long getTotal() {
+        return total;
+    }
+
+    public boolean isTruncated() {
+        return total > size;
+    }
+
+    public List<RowError> getErrors() {
+        List<RowError> errors = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            errors.add(new RowError(rowNums[i], columns[i], messages[i]));
+        }
+        return errors;
+    }
+
+    public void print(PrintStream out) {
+        out.println("Rows with errors: " + total);
+        for (int i = 0; i < size; i++) {
+            out.println("  " + new RowError(rowNums[i], columns[i], messages[i]));
+        }
+        if (isTruncated()) {
+            out.println("  ... " + (total - size) + " more");
+        }
+    }
+}
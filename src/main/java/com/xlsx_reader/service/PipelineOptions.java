@@ -0,0 +1,41 @@
+package com.xlsx_reader.service;
+
+public final class PipelineOptions {
+    public static final int DEFAULT_BATCH_SIZE = 1024;
+    public static final int DEFAULT_QUEUE_DEPTH = 16;
+
+    private final int workers;
+    private final int batchSize;
+    private final int queueDepth;
+
+    // queueDepth bounds the batches parsed but not yet taken by the sink, which is what throttles the parser
+    public PipelineOptions(int workers, int batchSize, int queueDepth) {
+        if (workers <= 0)
+            throw new IllegalArgumentException("Workers must be positive: " + workers);
+        if (batchSize <= 0)
+            throw new IllegalArgumentException("Batch size must be positive: " + batchSize);
+        if (queueDepth <= 0)
+            throw new IllegalArgumentException("Queue depth must be positive: " + queueDepth);
+        this.workers = workers;
+        this.batchSize = batchSize;
+        this.queueDepth = queueDepth;
+    }
+
+    // one core is left to the parse thread
+    public static PipelineOptions defaults() {
+        int workers = Math.max(1, Runtime.getRuntime().availableProcessors() - 1);
+        return new PipelineOptions(workers, DEFAULT_BATCH_SIZE, DEFAULT_QUEUE_DEPTH);
+    }
+
+    public int getWorkers() {
+        return workers;
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public int getQueueDepth() {
+        return queueDepth;
+    }
+}
@@ -0,0 +1,44 @@
+package com.xlsx_reader.service;
+
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.CellType;
+import org.apache.poi.ss.usermodel.Row;
+
+class PoiSheetRow implements SheetRow {
+    private final Row row;
+
+    PoiSheetRow(Row row) {
+        this.row = row;
+    }
+
+    @Override
+    public int getRowNum() {
+        return row.getRowNum();
+    }
+
+    @Override
+    public int getLastColumn() {
+        return Math.max(row.getLastCellNum() - 1, -1);
+    }
+
+    @Override
+    public CellType getCellType(int columnIndex) {
+        Cell cell = row.getCell(columnIndex);
+        return cell == null ? null : cell.getCellType();
+    }
+
+    @Override
+    public double getNumericCellValue(int columnIndex) {
+        return row.getCell(columnIndex).getNumericCellValue();
+    }
+
+    @Override
+    public String getStringCellValue(int columnIndex) {
+        return row.getCell(columnIndex).getStringCellValue();
+    }
+
+    @Override
+    public boolean getBooleanCellValue(int columnIndex) {
+        return row.getCell(columnIndex).getBooleanCellValue();
+    }
+}
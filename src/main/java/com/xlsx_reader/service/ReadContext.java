@@ -0,0 +1,15 @@
+package com.xlsx_reader.service;
+
+final class ReadContext {
+    final EmployeeColumns columns;
+    private final StringPool stringPool;
+
+    ReadContext(EmployeeColumns columns, StringPool stringPool) {
+        this.columns = columns;
+        this.stringPool = stringPool;
+    }
+
+    String pooled(String value) {
+        return stringPool == null ? value : stringPool.canonicalize(value);
+    }
+}
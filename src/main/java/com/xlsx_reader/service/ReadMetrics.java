@@ -0,0 +1,179 @@
+package com.xlsx_reader.service;
+
+import org.apache.poi.ss.usermodel.CellType;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.io.PrintStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Pattern;
+
+// collected by XlsxReaderService only while set on it, so a service without metrics pays a null check per row
+public class ReadMetrics implements ReadMetricsMXBean {
+    public static final String OBJECT_NAME = "com.xlsx_reader:type=ReadMetrics";
+
+    private static final CellType[] CELL_TYPES = CellType.values();
+    private static final int MISSING_CELL = CELL_TYPES.length;
+    private static final Pattern DIGITS = Pattern.compile("\\d+");
+
+    private final LongAdder reads = new LongAdder();
+    private final LongAdder rows = new LongAdder();
+    private final LongAdder openNanos = new LongAdder();
+    private final LongAdder parseNanos = new LongAdder();
+    private final LongAdder convertNanos = new LongAdder();
+    private final LongAdder consumeNanos = new LongAdder();
+    private final LongAdder readNanos = new LongAdder();
+    private final LongAdder allocatedBytes = new LongAdder();
+    private final LongAdder[] cells = new LongAdder[CELL_TYPES.length + 1];
+    private final Map<String, LongAdder> errors = new ConcurrentHashMap<>();
+
+    public ReadMetrics() {
+        for (int i = 0; i < cells.length; i++) {
+            cells[i] = new LongAdder();
+        }
+    }
+
+    public void registerMBean() throws JMException {
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        ObjectName name = new ObjectName(OBJECT_NAME);
+        if (server.isRegistered(name)) {
+            server.unregisterMBean(name);
+        }
+        server.registerMBean(this, name);
+    }
+
+    void recordOpen(long nanos) {
+        openNanos.add(nanos);
+    }
+
+    void recordParse(long nanos) {
+        parseNanos.add(nanos);
+    }
+
+    void recordConvert(long nanos) {
+        convertNanos.add(nanos);
+    }
+
+    void recordConsume(long nanos) {
+        consumeNanos.add(nanos);
+    }
+
+    void recordRow(SheetRow row, int columnCount) {
+        rows.increment();
+        for (int col = 0; col < columnCount; col++) {
+            CellType type = row.getCellType(col);
+            cells[type == null ? MISSING_CELL : type.ordinal()].increment();
+        }
+    }
+
+    // row numbers and other counts are folded so messages of the same kind share one counter
+    void recordError(Throwable error) {
+        String message = error.getMessage();
+        String kind = message == null ? error.getClass().getSimpleName() : DIGITS.matcher(message).replaceAll("#");
+        errors.computeIfAbsent(kind, k -> new LongAdder()).increment();
+    }
+
+    void recordRead(long nanos, long allocated) {
+        reads.increment();
+        readNanos.add(nanos);
+        if (allocated > 0)
+            allocatedBytes.add(allocated);
+    }
+
+    @Override
+    public long getReads() {
+        return reads.sum();
+    }
+
+    @Override
+    public long getRows() {
+        return rows.sum();
+    }
+
+    @Override
+    public long getOpenMillis() {
+        return openNanos.sum() / 1_000_000;
+    }
+
+    @Override
+    public long getParseMillis() {
+        return parseNanos.sum() / 1_000_000;
+    }
+
+    @Override
+    public long getConvertMillis() {
+        return convertNanos.sum() / 1_000_000;
+    }
+
+    @Override
+    public long getConsumeMillis() {
+        return consumeNanos.sum() / 1_000_000;
+    }
+
+    // summed over reads, so concurrent reads report the throughput of one reading thread
+    @Override
+    public double getRowsPerSecond() {
+        long nanos = readNanos.sum();
+        return nanos == 0 ? 0 : rows.sum() * 1_000_000_000.0 / nanos;
+    }
+
+    @Override
+    public long getAllocatedBytes() {
+        return allocatedBytes.sum();
+    }
+
+    @Override
+    public Map<String, Long> getCellsByType() {
+        Map<String, Long> counts = new TreeMap<>();
+        for (int i = 0; i < cells.length; i++) {
+            long count = cells[i].sum();
+            if (count > 0)
+                counts.put(i == MISSING_CELL ? "MISSING" : CELL_TYPES[i].name(), count);
+        }
+        return counts;
+    }
+
+    @Override
+    public Map<String, Long> getErrorsByKind() {
+        Map<String, Long> counts = new TreeMap<>();
+        errors.forEach((kind, count) -> counts.put(kind, count.sum()));
+        return counts;
+    }
+
+    public void print(PrintStream out) {
+        long rowCount = getRows();
+        out.println(String.format(Locale.ROOT, "Reads: %d, rows: %d, %.1f rows/s",
+                getReads(), rowCount, getRowsPerSecond()));
+        out.println(String.format(Locale.ROOT, "Phases: open %.3f s, parse %.3f s, convert %.3f s, consume %.3f s",
+                openNanos.sum() / 1_000_000_000.0,
+                parseNanos.sum() / 1_000_000_000.0,
+                convertNanos.sum() / 1_000_000_000.0,
+                consumeNanos.sum() / 1_000_000_000.0));
+        out.println("Cells: " + getCellsByType());
+        out.println("Errors: " + getErrorsByKind());
+        if (currentThreadAllocatedBytes() < 0) {
+            out.println("Allocated: not supported by this JVM");
+        } else {
+            out.println(String.format(Locale.ROOT, "Allocated: %d bytes (%.1f bytes/row)",
+                    getAllocatedBytes(), rowCount == 0 ? 0 : (double) getAllocatedBytes() / rowCount));
+        }
+    }
+
+    // only counts the calling thread, so chunks converted on a pool are not included
+    static long currentThreadAllocatedBytes() {
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        if (threads instanceof com.sun.management.ThreadMXBean allocation
+                && allocation.isThreadAllocatedMemorySupported()
+                && allocation.isThreadAllocatedMemoryEnabled()) {
+            return allocation.getCurrentThreadAllocatedBytes();
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,25 @@
+package com.xlsx_reader.service;
+
+import java.util.Map;
+
+public interface ReadMetricsMXBean {
+    long getReads();
+
+    long getRows();
+
+    long getOpenMillis();
+
+    long getParseMillis();
+
+    long getConvertMillis();
+
+    long getConsumeMillis();
+
+    double getRowsPerSecond();
+
+    long getAllocatedBytes();
+
+    Map<String, Long> getCellsByType();
+
+    Map<String, Long> getErrorsByKind();
+}
@@ -0,0 +1,6 @@
+package com.xlsx_reader.service;
+
+public enum ReadMode {
+    DOM,
+    STREAMING
+}
@@ -0,0 +1,23 @@
+package com.xlsx_reader.service;
+
+import com.xlsx_reader.domain.Employee;
+
+import java.util.List;
+
+public class ReadResult {
+    private final List<Employee> employees;
+    private final ErrorReport errors;
+
+    public ReadResult(List<Employee> employees, ErrorReport errors) {
+        this.employees = employees;
+        this.errors = errors;
+    }
+
+    public List<Employee> getEmployees() {
+        return employees;
+    }
+
+    public ErrorReport getErrors() {
+        return errors;
+    }
+}
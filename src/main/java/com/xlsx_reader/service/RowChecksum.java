@@ -0,0 +1,46 @@
+package com.xlsx_reader.service;
+
+import org.apache.poi.ss.usermodel.CellType;
+
+// 64-bit FNV-1a over the mapped cells of each row, so the prefix of a sheet can be compared
+// between runs without holding on to its rows
+class RowChecksum {
+    private static final long OFFSET_BASIS = 0xcbf29ce484222325L;
+    private static final long PRIME = 0x100000001b3L;
+
+    private long value = OFFSET_BASIS;
+
+    void update(SheetRow row, int columnCount) {
+        mix(row.getRowNum());
+        for (int col = 0; col < columnCount; col++) {
+            CellType type = row.getCellType(col);
+            // a missing cell and a blank one read the same in both modes
+            if (type == null || type == CellType.BLANK) {
+                mix(-1);
+                continue;
+            }
+            mix(type.ordinal());
+            switch (type) {
+                case NUMERIC -> mix(Double.doubleToLongBits(row.getNumericCellValue(col)));
+                case STRING -> {
+                    String text = row.getStringCellValue(col);
+                    for (int i = 0; i < text.length(); i++) {
+                        mix(text.charAt(i));
+                    }
+                    mix(text.length());
+                }
+                case BOOLEAN -> mix(row.getBooleanCellValue(col) ? 1 : 0);
+                default -> {
+                }
+            }
+        }
+    }
+
+    long getValue() {
+        return value;
+    }
+
+    private void mix(long bits) {
+        value = (value ^ bits) * PRIME;
+    }
+}
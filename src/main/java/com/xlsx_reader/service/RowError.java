@@ -0,0 +1,34 @@
+package com.xlsx_reader.service;
+
+import org.apache.poi.ss.util.CellReference;
+
+public class RowError {
+    private final int rowNum;
+    private final int columnIndex;
+    private final String message;
+
+    public RowError(int rowNum, int columnIndex, String message) {
+        this.rowNum = rowNum;
+        this.columnIndex = columnIndex;
+        this.message = message;
+    }
+
+    public int getRowNum() {
+        return rowNum;
+    }
+
+    // -1 when the error is about the row as a whole
+    public int getColumnIndex() {
+        return columnIndex;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    @Override
+    public String toString() {
+        String column = columnIndex < 0 ? "-" : CellReference.convertNumToColString(columnIndex);
+        return "row " + rowNum + ", column " + column + ": " + message;
+    }
+}
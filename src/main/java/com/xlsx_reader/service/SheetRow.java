@@ -0,0 +1,17 @@
+package com.xlsx_reader.service;
+
+import org.apache.poi.ss.usermodel.CellType;
+
+public interface SheetRow {
+    int getRowNum();
+
+    int getLastColumn();
+
+    CellType getCellType(int columnIndex);
+
+    double getNumericCellValue(int columnIndex);
+
+    String getStringCellValue(int columnIndex);
+
+    boolean getBooleanCellValue(int columnIndex);
+}
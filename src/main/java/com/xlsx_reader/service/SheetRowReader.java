@@ -0,0 +1,12 @@
+package com.xlsx_reader.service;
+
+import com.xlsx_reader.exception.ExcelParsingException;
+
+interface SheetRowReader extends AutoCloseable {
+    boolean next() throws ExcelParsingException;
+
+    SheetRow getRow();
+
+    @Override
+    void close() throws ExcelParsingException;
+}
@@ -0,0 +1,78 @@
+package com.xlsx_reader.service;
+
+import com.xlsx_reader.exception.ExcelParsingException;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public final class SheetSelection {
+    public static final SheetSelection ALL = new SheetSelection(List.of());
+
+    // each entry is a sheet name or a 0-based sheet index
+    private final List<String> sheets;
+
+    private SheetSelection(List<String> sheets) {
+        this.sheets = sheets;
+    }
+
+    public static SheetSelection of(String... sheets) {
+        return new SheetSelection(List.of(sheets));
+    }
+
+    public static SheetSelection byIndex(int... indexes) {
+        List<String> sheets = new ArrayList<>(indexes.length);
+        for (int index : indexes) {
+            sheets.add(Integer.toString(index));
+        }
+        return new SheetSelection(List.copyOf(sheets));
+    }
+
+    // "all" or a comma separated list of sheet names and indexes
+    public static SheetSelection parse(String value) {
+        if (value.isBlank() || value.equalsIgnoreCase("all"))
+            return ALL;
+
+        List<String> sheets = new ArrayList<>();
+        for (String sheet : value.split(",")) {
+            if (!sheet.isBlank())
+                sheets.add(sheet.trim());
+        }
+        return new SheetSelection(List.copyOf(sheets));
+    }
+
+    // a name wins over an index, so a sheet literally called "2" can still be selected
+    List<Integer> resolve(List<String> sheetNames) throws ExcelParsingException {
+        List<Integer> indexes = new ArrayList<>();
+        if (sheets.isEmpty()) {
+            for (int i = 0; i < sheetNames.size(); i++) {
+                indexes.add(i);
+            }
+            return indexes;
+        }
+
+        for (String sheet : sheets) {
+            int index = sheetNames.indexOf(sheet);
+            if (index < 0)
+                index = parseIndex(sheet, sheetNames.size());
+            if (!indexes.contains(index))
+                indexes.add(index);
+        }
+        return indexes;
+    }
+
+    private static int parseIndex(String sheet, int sheetCount) throws ExcelParsingException {
+        try {
+            int index = Integer.parseInt(sheet);
+            if (index >= 0 && index < sheetCount)
+                return index;
+        } catch (NumberFormatException e) {
+            // reported below
+        }
+        throw new ExcelParsingException("Sheet not found: " + sheet);
+    }
+
+    @Override
+    public String toString() {
+        return sheets.isEmpty() ? "all" : String.join(",", sheets);
+    }
+}
@@ -0,0 +1,15 @@
+package com.xlsx_reader.service;
+
+import com.xlsx_reader.exception.ExcelParsingException;
+
+import java.util.List;
+
+// an open workbook whose sheets can be read independently, also from different threads
+interface SheetWorkbook extends AutoCloseable {
+    List<String> getSheetNames();
+
+    SheetRowReader openSheet(int sheetIndex, StringPool stringPool) throws ExcelParsingException;
+
+    @Override
+    void close();
+}
@@ -0,0 +1,178 @@
+package com.xlsx_reader.service;
+
+import com.xlsx_reader.exception.ExcelParsingException;
+import org.apache.poi.ss.usermodel.CellType;
+import org.apache.poi.util.XMLHelper;
+import org.apache.poi.xssf.model.SharedStrings;
+
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+
+class StreamingSheetReader implements SheetRowReader {
+    private final SharedStrings sharedStrings;
+    private final StringPool stringPool;
+    private String[] sharedStringCache;
+    private final InputStream sheetStream;
+    private final XMLStreamReader xml;
+    private final BufferedSheetRow row = new BufferedSheetRow();
+    private boolean finished;
+
+    StreamingSheetReader(InputStream sheetStream, SharedStrings sharedStrings, StringPool stringPool)
+            throws ExcelParsingException {
+        this.sheetStream = sheetStream;
+        this.sharedStrings = sharedStrings;
+        this.stringPool = stringPool;
+        try {
+            xml = XMLHelper.newXMLInputFactory().createXMLStreamReader(sheetStream);
+        } catch (XMLStreamException e) {
+            try {
+                sheetStream.close();
+            } catch (IOException suppressed) {
+                e.addSuppressed(suppressed);
+            }
+            throw new ExcelParsingException("Error reading Excel file: " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public boolean next() throws ExcelParsingException {
+        if (finished)
+            return false;
+
+        try {
+            while (xml.hasNext()) {
+                int event = xml.next();
+                if (event == XMLStreamConstants.START_ELEMENT && "row".equals(xml.getLocalName())) {
+                    readRow();
+                    return true;
+                }
+                if (event == XMLStreamConstants.END_ELEMENT && "sheetData".equals(xml.getLocalName())) {
+                    break;
+                }
+            }
+        } catch (XMLStreamException | RuntimeException e) {
+            throw new ExcelParsingException("Error reading Excel file: " + e.getMessage(), e);
+        }
+
+        finished = true;
+        return false;
+    }
+
+    @Override
+    public SheetRow getRow() {
+        return row;
+    }
+
+    private void readRow() throws XMLStreamException {
+        String rowRef = xml.getAttributeValue(null, "r");
+        row.reset(rowRef != null ? Integer.parseInt(rowRef) - 1 : row.getRowNum() + 1);
+
+        int columnIndex = -1;
+        while (xml.hasNext()) {
+            int event = xml.next();
+            if (event == XMLStreamConstants.START_ELEMENT && "c".equals(xml.getLocalName())) {
+                String cellRef = xml.getAttributeValue(null, "r");
+                columnIndex = cellRef != null ? columnIndex(cellRef) : columnIndex + 1;
+                readCell(columnIndex, xml.getAttributeValue(null, "t"));
+            } else if (event == XMLStreamConstants.END_ELEMENT && "row".equals(xml.getLocalName())) {
+                return;
+            }
+        }
+    }
+
+    private void readCell(int columnIndex, String type) throws XMLStreamException {
+        String value = null;
+        StringBuilder inlineText = null;
+        boolean formula = false;
+
+        while (xml.hasNext()) {
+            int event = xml.next();
+            if (event == XMLStreamConstants.START_ELEMENT) {
+                String name = xml.getLocalName();
+                if ("v".equals(name)) {
+                    value = xml.getElementText();
+                } else if ("f".equals(name)) {
+                    formula = true;
+                } else if ("t".equals(name)) {
+                    if (inlineText == null)
+                        inlineText = new StringBuilder();
+                    inlineText.append(xml.getElementText());
+                }
+            } else if (event == XMLStreamConstants.END_ELEMENT && "c".equals(xml.getLocalName())) {
+                break;
+            }
+        }
+
+        if (formula) {
+            row.setType(columnIndex, CellType.FORMULA);
+            return;
+        }
+
+        if ("inlineStr".equals(type)) {
+            row.setString(columnIndex, inlineText != null ? inlineText.toString() : "");
+            return;
+        }
+
+        if (value == null || value.isEmpty()) {
+            row.setType(columnIndex, CellType.BLANK);
+            return;
+        }
+
+        if (type == null || "n".equals(type)) {
+            row.setNumeric(columnIndex, Double.parseDouble(value));
+        } else if ("s".equals(type)) {
+            row.setString(columnIndex, sharedString(Integer.parseInt(value)));
+        } else if ("b".equals(type)) {
+            row.setBoolean(columnIndex, "1".equals(value) || "true".equals(value));
+        } else if ("e".equals(type)) {
+            row.setType(columnIndex, CellType.ERROR);
+        } else {
+            row.setString(columnIndex, value);
+        }
+    }
+
+    // shared strings are already unique per file, so with pooling enabled each index is
+    // materialized once and every cell referring to it gets the same instance
+    private String sharedString(int index) {
+        if (stringPool == null)
+            return sharedStrings.getItemAt(index).getString();
+
+        if (sharedStringCache == null) {
+            sharedStringCache = new String[Math.max(sharedStrings.getUniqueCount(), index + 1)];
+        } else if (index >= sharedStringCache.length) {
+            sharedStringCache = Arrays.copyOf(sharedStringCache, Math.max(index + 1, sharedStringCache.length * 2));
+        }
+
+        String value = sharedStringCache[index];
+        if (value == null) {
+            value = sharedStrings.getItemAt(index).getString();
+            sharedStringCache[index] = value;
+        }
+        return value;
+    }
+
+    private static int columnIndex(String cellRef) {
+        int column = 0;
+        for (int i = 0; i < cellRef.length(); i++) {
+            char c = cellRef.charAt(i);
+            if (c < 'A' || c > 'Z')
+                break;
+            column = column * 26 + (c - 'A' + 1);
+        }
+        return column - 1;
+    }
+
+    @Override
+    public void close() throws ExcelParsingException {
+        try {
+            xml.close();
+            sheetStream.close();
+        } catch (XMLStreamException | IOException e) {
+            throw new ExcelParsingException("Error reading Excel file: " + e.getMessage(), e);
+        }
+    }
+}
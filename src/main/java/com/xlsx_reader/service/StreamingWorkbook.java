@@ -0,0 +1,67 @@
+package com.xlsx_reader.service;
+
+import com.xlsx_reader.exception.ExcelParsingException;
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackagePart;
+import org.apache.poi.xssf.eventusermodel.XSSFReader;
+import org.apache.poi.xssf.model.SharedStrings;
+
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+class StreamingWorkbook implements SheetWorkbook {
+    private final WorkbookSource source;
+    private final OPCPackage pkg;
+    private final SharedStrings sharedStrings;
+    private final List<String> sheetNames = new ArrayList<>();
+    private final List<PackagePart> sheetParts = new ArrayList<>();
+
+    StreamingWorkbook(WorkbookSource source) throws ExcelParsingException {
+        this.source = source;
+        pkg = source.open();
+
+        // the read-only shared strings table is parsed once and shared by every sheet
+        try {
+            XSSFReader reader = new XSSFReader(pkg, true);
+            reader.setUseReadOnlySharedStringsTable(true);
+            sharedStrings = reader.getSharedStringsTable();
+
+            XSSFReader.SheetIterator sheets = (XSSFReader.SheetIterator) reader.getSheetsData();
+            while (sheets.hasNext()) {
+                sheets.next().close();
+                sheetNames.add(sheets.getSheetName());
+                sheetParts.add(sheets.getSheetPart());
+            }
+        } catch (Exception e) {
+            pkg.revert();
+            throw new ExcelParsingException("Error reading Excel file: " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public List<String> getSheetNames() {
+        return sheetNames;
+    }
+
+    @Override
+    public SheetRowReader openSheet(int sheetIndex, StringPool stringPool) throws ExcelParsingException {
+        if (sheetParts.isEmpty()) {
+            throw new ExcelParsingException("Workbook contains no sheets: " + source);
+        }
+
+        try {
+            InputStream sheetStream = sheetParts.get(sheetIndex).getInputStream();
+            return new StreamingSheetReader(sheetStream, sharedStrings, stringPool);
+        } catch (ExcelParsingException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new ExcelParsingException("Error reading Excel file: " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public void close() {
+        pkg.revert();
+    }
+}
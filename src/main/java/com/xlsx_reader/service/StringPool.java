@@ -0,0 +1,48 @@
+package com.xlsx_reader.service;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+class StringPool {
+    private final int maxEntries;
+    private final ConcurrentHashMap<String, String> values = new ConcurrentHashMap<>();
+    private final AtomicInteger size = new AtomicInteger();
+    private final LongAdder lookups = new LongAdder();
+    private final LongAdder hits = new LongAdder();
+
+    StringPool(int maxEntries) {
+        this.maxEntries = maxEntries;
+    }
+
+    String canonicalize(String value) {
+        if (value == null)
+            return null;
+
+        lookups.increment();
+        String canonical = values.get(value);
+        if (canonical != null) {
+            hits.increment();
+            return canonical;
+        }
+
+        // once full the pool stops growing and only serves values it already holds
+        if (size.get() < maxEntries) {
+            canonical = values.putIfAbsent(value, value);
+            if (canonical != null) {
+                hits.increment();
+                return canonical;
+            }
+            size.incrementAndGet();
+        }
+        return value;
+    }
+
+    long getLookups() {
+        return lookups.sum();
+    }
+
+    long getHits() {
+        return hits.sum();
+    }
+}
@@ -0,0 +1,30 @@
+package com.xlsx_reader.service;
+
+import java.util.Locale;
+
+public class StringPoolStats {
+    private final long lookups;
+    private final long hits;
+
+    public StringPoolStats(long lookups, long hits) {
+        this.lookups = lookups;
+        this.hits = hits;
+    }
+
+    public long getLookups() {
+        return lookups;
+    }
+
+    public long getHits() {
+        return hits;
+    }
+
+    public double getHitRatio() {
+        return lookups == 0 ? 0 : (double) hits / lookups;
+    }
+
+    @Override
+    public String toString() {
+        return String.format(Locale.ROOT, "%d hits / %d lookups (%.1f%%)", hits, lookups, getHitRatio() * 100);
+    }
+}
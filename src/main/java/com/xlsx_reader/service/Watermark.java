@@ -0,0 +1,36 @@
+package com.xlsx_reader.service;
+
+public final class Watermark {
+    private final int rowNum;
+    private final long id;
+    private final long prefixChecksum;
+    private final String schemaVersion;
+
+    public Watermark(int rowNum, long id, long prefixChecksum, String schemaVersion) {
+        this.rowNum = rowNum;
+        this.id = id;
+        this.prefixChecksum = prefixChecksum;
+        this.schemaVersion = schemaVersion;
+    }
+
+    public int getRowNum() {
+        return rowNum;
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    public long getPrefixChecksum() {
+        return prefixChecksum;
+    }
+
+    public String getSchemaVersion() {
+        return schemaVersion;
+    }
+
+    @Override
+    public String toString() {
+        return "row " + rowNum + ", id " + id;
+    }
+}
@@ -0,0 +1,33 @@
+package com.xlsx_reader.service;
+
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+
+import java.util.Iterator;
+
+class WorkbookSheetReader implements SheetRowReader {
+    private final Iterator<Row> rows;
+    private SheetRow row;
+
+    WorkbookSheetReader(Sheet sheet) {
+        rows = sheet.rowIterator();
+    }
+
+    @Override
+    public boolean next() {
+        if (!rows.hasNext())
+            return false;
+        row = new PoiSheetRow(rows.next());
+        return true;
+    }
+
+    @Override
+    public SheetRow getRow() {
+        return row;
+    }
+
+    // the workbook is owned and closed by DomWorkbook
+    @Override
+    public void close() {
+    }
+}
@@ -0,0 +1,81 @@
+package com.xlsx_reader.service;
+
+import com.xlsx_reader.exception.ExcelParsingException;
+import org.apache.commons.compress.archivers.zip.ZipFile;
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackageAccess;
+import org.apache.poi.openxml4j.util.ZipFileZipEntrySource;
+
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.file.Path;
+
+public abstract class WorkbookSource {
+    private final String description;
+
+    private WorkbookSource(String description) {
+        this.description = description;
+    }
+
+    // opened straight from the file, the zip entries are read on demand instead of being buffered up front
+    public static WorkbookSource of(Path file) {
+        return new WorkbookSource(file.toString()) {
+            @Override
+            OPCPackage openPackage() throws Exception {
+                return OPCPackage.open(file.toFile(), PackageAccess.READ);
+            }
+        };
+    }
+
+    // the channel is closed together with the package
+    public static WorkbookSource of(SeekableByteChannel channel) {
+        return new WorkbookSource("channel") {
+            @Override
+            OPCPackage openPackage() throws Exception {
+                ZipFile zipFile = ZipFile.builder().setSeekableByteChannel(channel).get();
+                try {
+                    return OPCPackage.open(new ZipFileZipEntrySource(zipFile));
+                } catch (Exception e) {
+                    zipFile.close();
+                    throw e;
+                }
+            }
+        };
+    }
+
+    // works with heap, direct and memory-mapped buffers without copying them
+    public static WorkbookSource of(ByteBuffer buffer) {
+        return new WorkbookSource("buffer") {
+            @Override
+            OPCPackage openPackage() throws Exception {
+                return of(new ByteBufferChannel(buffer)).openPackage();
+            }
+        };
+    }
+
+    // a plain stream is not seekable, so POI has to buffer the package entries in memory
+    public static WorkbookSource of(InputStream stream) {
+        return new WorkbookSource("stream") {
+            @Override
+            OPCPackage openPackage() throws Exception {
+                return OPCPackage.open(stream);
+            }
+        };
+    }
+
+    abstract OPCPackage openPackage() throws Exception;
+
+    OPCPackage open() throws ExcelParsingException {
+        try {
+            return openPackage();
+        } catch (Exception e) {
+            throw new ExcelParsingException("Error reading Excel file: " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return description;
+    }
+}
@@ -2,13 +2,37 @@ package com.xlsx_reader.service;
 
 import com.xlsx_reader.domain.*;
 import com.xlsx_reader.exception.ExcelParsingException;
-import org.apache.poi.ss.usermodel.*;
-import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import com.xlsx_reader.exception.UncheckedExcelParsingException;
+import com.xlsx_reader.index.EmployeeIndex;
+import com.xlsx_reader.store.EmployeeStore;
 
-import java.io.FileInputStream;
-import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 public class XlsxReaderService {
     protected static final int ID_COL = 0;
@@ -27,70 +51,563 @@ public class XlsxReaderService {
 
     protected static final int HEADER_ROWS_TO_SKIP = 3;
 
+    private static final int DEFAULT_CHUNK_SIZE = 1024;
+    private static final Map<String, CompanyType> COMPANY_TYPES = new HashMap<>();
+
+    static {
+        for (CompanyType companyType : CompanyType.values()) {
+            COMPANY_TYPES.put(companyType.name(), companyType);
+        }
+    }
+
+    private final ReadMode readMode;
+    private final ColumnSchema schema;
+    private int stringPoolSize;
+    private ReadMetrics metrics;
+    private EmployeeValidator validator;
+    private final LongAdder stringPoolLookups = new LongAdder();
+    private final LongAdder stringPoolHits = new LongAdder();
+
+    public XlsxReaderService() {
+        this(ReadMode.DOM);
+    }
+
+    public XlsxReaderService(ReadMode readMode) {
+        this(readMode, ColumnSchema.DEFAULT);
+    }
+
+    public XlsxReaderService(ReadMode readMode, ColumnSchema schema) {
+        this.readMode = readMode;
+        this.schema = schema;
+    }
+
+    public ColumnSchema getSchema() {
+        return schema;
+    }
+
+    public void setStringPoolSize(int stringPoolSize) {
+        if (stringPoolSize < 0)
+            throw new IllegalArgumentException("String pool size must not be negative: " + stringPoolSize);
+        this.stringPoolSize = stringPoolSize;
+    }
+
+    public void setMetrics(ReadMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    public ReadMetrics getMetrics() {
+        return metrics;
+    }
+
+    // runs on every converted row; a failing row is handled like a bad cell, so it stops a strict
+    // read and is reported by a lenient one. Queries only check the fields they read.
+    public void setValidator(EmployeeValidator validator) {
+        this.validator = validator;
+    }
+
+    public EmployeeValidator getValidator() {
+        return validator;
+    }
+
+    public StringPoolStats getStringPoolStats() {
+        return new StringPoolStats(stringPoolLookups.sum(), stringPoolHits.sum());
+    }
+
     public List<Employee> readEmployees(String filePath) throws ExcelParsingException {
+        return readEmployees(WorkbookSource.of(Path.of(filePath)));
+    }
+
+    public List<Employee> readEmployees(WorkbookSource source) throws ExcelParsingException {
+        List<Employee> employees = new ArrayList<>();
+        forEachEmployee(source, employees::add);
+        return employees;
+    }
+
+    public EmployeeStore readColumnar(String filePath) throws ExcelParsingException {
+        return readColumnar(WorkbookSource.of(Path.of(filePath)));
+    }
+
+    public EmployeeStore readColumnar(WorkbookSource source) throws ExcelParsingException {
+        EmployeeStore.Builder store = new EmployeeStore.Builder();
+        forEachEmployee(source, store);
+        return store.build();
+    }
+
+    public void forEachEmployee(String filePath, Consumer<? super Employee> action) throws ExcelParsingException {
+        forEachEmployee(WorkbookSource.of(Path.of(filePath)), action);
+    }
+
+    public void forEachEmployee(WorkbookSource source, Consumer<? super Employee> action)
+            throws ExcelParsingException {
+        try (TableRowReader rows = new TableRowReader(source)) {
+            SheetRow row;
+            while ((row = rows.next()) != null) {
+                consume(action, processRow(rows.getContext(), row));
+            }
+        }
+    }
+
+    public EmployeeIndex readIndexed(String filePath) throws ExcelParsingException {
+        return readIndexed(WorkbookSource.of(Path.of(filePath)));
+    }
+
+    // builds the id, IBAN and email indexes while the rows are read; duplicate ids and IBANs are
+    // reported with their row numbers instead of failing the read
+    public EmployeeIndex readIndexed(WorkbookSource source) throws ExcelParsingException {
+        EmployeeIndex.Builder index = new EmployeeIndex.Builder();
+        try (TableRowReader rows = new TableRowReader(source)) {
+            SheetRow row;
+            while ((row = rows.next()) != null) {
+                index.add(row.getRowNum(), processRow(rows.getContext(), row));
+            }
+        }
+        return index.build();
+    }
+
+    public List<Employee> query(String filePath, EmployeeQuery query) throws ExcelParsingException {
+        List<Employee> employees = new ArrayList<>();
+        forEachEmployee(WorkbookSource.of(Path.of(filePath)), query, employees::add);
+        return employees;
+    }
+
+    // rows are matched on their raw cells first, so rows that are filtered out are never converted
+    // and columns that are neither filtered on nor projected are not read at all
+    public void forEachEmployee(WorkbookSource source, EmployeeQuery query, Consumer<? super Employee> action)
+            throws ExcelParsingException {
+        try (TableRowReader rows = new TableRowReader(source)) {
+            SheetRow row;
+            while ((row = rows.next()) != null) {
+                Employee employee = processRow(rows.getContext(), row, query);
+                if (employee != null)
+                    consume(action, employee);
+            }
+        }
+    }
+
+    public ReadResult readEmployeesLenient(String filePath, int maxErrors) throws ExcelParsingException {
         List<Employee> employees = new ArrayList<>();
+        ErrorReport errors = new ErrorReport(maxErrors);
+        forEachEmployee(WorkbookSource.of(Path.of(filePath)), errors, employees::add);
+        return new ReadResult(employees, errors);
+    }
 
-        try (FileInputStream fis = new FileInputStream(filePath);
-                Workbook workbook = new XSSFWorkbook(fis)) {
+    public void forEachEmployee(String filePath, ErrorReport errors, Consumer<? super Employee> action)
+            throws ExcelParsingException {
+        forEachEmployee(WorkbookSource.of(Path.of(filePath)), errors, action);
+    }
 
-            Sheet sheet = workbook.getSheetAt(0);
-            for (int i = HEADER_ROWS_TO_SKIP; i <= sheet.getLastRowNum(); i++) {
-                Row row = sheet.getRow(i);
-                long id = (long) row.getCell(ID_COL).getNumericCellValue();
-                if (row == null || id == 0)
-                    break;
-                Employee employee = processRow(row, id);
-                employees.add(employee);
+    // bad rows are recorded in the report and skipped; only errors reading the file itself still throw
+    public void forEachEmployee(WorkbookSource source, ErrorReport errors, Consumer<? super Employee> action)
+            throws ExcelParsingException {
+        try (TableRowReader rows = new TableRowReader(source)) {
+            SheetRow row;
+            while ((row = rows.next()) != null) {
+                Employee employee = processRow(rows.getContext(), row, errors);
+                if (employee != null)
+                    consume(action, employee);
             }
-        } catch (IOException e) {
-            throw new ExcelParsingException("Error reading Excel file: " + e.getMessage(), e);
         }
+    }
+
+    // emits only the rows appended after the watermark; with no watermark, another schema or a changed
+    // prefix it falls back to reading the whole table. The returned watermark marks the new end.
+    public Watermark forEachEmployeeSince(String filePath, Watermark since, Consumer<? super Employee> action)
+            throws ExcelParsingException {
+        if (since != null && since.getSchemaVersion().equals(schema.getVersion())) {
+            Watermark next = readSince(filePath, since, action);
+            if (next != null)
+                return next;
+        }
+        return readSince(filePath, null, action);
+    }
+
+    // rows up to the watermark are still parsed, since a zipped sheet cannot be seeked, but only
+    // checksummed instead of converted. Returns null, before emitting anything, if they no longer match.
+    private Watermark readSince(String filePath, Watermark since, Consumer<? super Employee> action)
+            throws ExcelParsingException {
+        RowChecksum checksum = new RowChecksum();
+        int lastRowNum = schema.getFirstDataRow() - 1;
+        long lastId = 0;
+        boolean verified = since == null || since.getRowNum() < schema.getFirstDataRow();
+
+        try (TableRowReader rows = new TableRowReader(WorkbookSource.of(Path.of(filePath)))) {
+            SheetRow row;
+            while ((row = rows.next()) != null) {
+                checksum.update(row, rows.getContext().columns.columnCount);
+                lastRowNum = row.getRowNum();
+                lastId = rows.getId();
+                if (verified) {
+                    consume(action, processRow(rows.getContext(), row));
+                } else if (row.getRowNum() == since.getRowNum()) {
+                    if (rows.getId() != since.getId() || checksum.getValue() != since.getPrefixChecksum())
+                        return null;
+                    verified = true;
+                }
+            }
+        }
+        return verified ? new Watermark(lastRowNum, lastId, checksum.getValue(), schema.getVersion()) : null;
+    }
+
+    public EmployeeIterator iterateEmployees(String filePath) throws ExcelParsingException {
+        return iterateEmployees(WorkbookSource.of(Path.of(filePath)));
+    }
+
+    public EmployeeIterator iterateEmployees(WorkbookSource source) throws ExcelParsingException {
+        return new EmployeeReader(new TableRowReader(source));
+    }
+
+    public Stream<Employee> streamEmployees(String filePath) throws ExcelParsingException {
+        return streamEmployees(WorkbookSource.of(Path.of(filePath)));
+    }
+
+    public Stream<Employee> streamEmployees(WorkbookSource source) throws ExcelParsingException {
+        EmployeeIterator employees = iterateEmployees(source);
+        Spliterator<Employee> spliterator = Spliterators.spliteratorUnknownSize(
+                employees, Spliterator.ORDERED | Spliterator.NONNULL);
+        return StreamSupport.stream(spliterator, false).onClose(employees::close);
+    }
+
+    private SheetWorkbook openWorkbook(WorkbookSource source) throws ExcelParsingException {
+        if (readMode == ReadMode.STREAMING) {
+            return new StreamingWorkbook(source);
+        }
+        return new DomWorkbook(source);
+    }
+
+    public List<String> getSheetNames(String filePath) throws ExcelParsingException {
+        try (SheetWorkbook workbook = openWorkbook(WorkbookSource.of(Path.of(filePath)))) {
+            return List.copyOf(workbook.getSheetNames());
+        }
+    }
+
+    public Map<String, List<Employee>> readSheets(String filePath, SheetSelection sheets, ExecutorService executor)
+            throws ExcelParsingException {
+        return readEachSheet(filePath, sheets, executor, ArrayList::new, employees -> employees::add);
+    }
+
+    // every selected sheet is read on the executor with its own consumer, so consumers need not be thread-safe;
+    // the result maps sheet names to their consumers in workbook order
+    public <T extends Consumer<? super Employee>> Map<String, T> forEachSheet(
+            String filePath,
+            SheetSelection sheets,
+            ExecutorService executor,
+            Supplier<T> consumers) throws ExcelParsingException {
+        return readEachSheet(filePath, sheets, executor, consumers, consumer -> consumer);
+    }
+
+    // each sheet gets its own result, which the rows are handed to through the consumer it provides
+    private <T> Map<String, T> readEachSheet(
+            String filePath,
+            SheetSelection sheets,
+            ExecutorService executor,
+            Supplier<T> results,
+            Function<T, Consumer<? super Employee>> consumerOf) throws ExcelParsingException {
+        try (SheetWorkbook workbook = openWorkbook(WorkbookSource.of(Path.of(filePath)))) {
+            List<String> sheetNames = workbook.getSheetNames();
+            List<Integer> indexes = sheets.resolve(sheetNames);
 
+            List<CompletableFuture<T>> tasks = new ArrayList<>(indexes.size());
+            for (int index : indexes) {
+                tasks.add(CompletableFuture.supplyAsync(() -> {
+                    T result = results.get();
+                    Consumer<? super Employee> consumer = consumerOf.apply(result);
+                    try (TableRowReader rows = new TableRowReader(workbook, index)) {
+                        SheetRow row;
+                        while ((row = rows.next()) != null) {
+                            consume(consumer, processRow(rows.getContext(), row));
+                        }
+                    } catch (ExcelParsingException e) {
+                        throw new UncheckedExcelParsingException(new ExcelParsingException(
+                                "Error reading sheet " + sheetNames.get(index) + ": " + e.getMessage(), e));
+                    }
+                    return result;
+                }, executor));
+            }
+
+            // every task has to finish before the shared workbook is closed, even if one of them failed
+            Map<String, T> bySheet = new LinkedHashMap<>();
+            for (int i = 0; i < tasks.size(); i++) {
+                try {
+                    bySheet.put(sheetNames.get(indexes.get(i)), tasks.get(i).join());
+                } catch (CompletionException e) {
+                    CompletableFuture.allOf(tasks.toArray(new CompletableFuture<?>[0])).exceptionally(t -> null).join();
+                    if (e.getCause() instanceof UncheckedExcelParsingException unchecked)
+                        throw unchecked.getCause();
+                    throw e;
+                }
+            }
+            return bySheet;
+        }
+    }
+
+    public List<Employee> readEmployeesParallel(String filePath, ForkJoinPool pool) throws ExcelParsingException {
+        List<Employee> employees = new ArrayList<>();
+        forEachEmployeeParallel(filePath, pool, employees::add);
         return employees;
     }
 
-    private Employee processRow(Row row, long id) throws ExcelParsingException {
+    public void forEachEmployeeParallel(String filePath, ForkJoinPool pool, Consumer<? super Employee> action)
+            throws ExcelParsingException {
+        forEachEmployeeParallel(filePath, pool, DEFAULT_CHUNK_SIZE, action);
+    }
+
+    public void forEachEmployeeParallel(
+            String filePath,
+            ForkJoinPool pool,
+            int chunkSize,
+            Consumer<? super Employee> action) throws ExcelParsingException {
+        if (chunkSize <= 0)
+            throw new IllegalArgumentException("Chunk size must be positive: " + chunkSize);
+
+        // chunks are converted out of order but handed to the action strictly in row order,
+        // and at most this many are held at once so memory does not grow with the sheet
+        int maxChunksInFlight = pool.getParallelism() * 2;
+        Deque<ForkJoinTask<List<Employee>>> pending = new ArrayDeque<>();
+
+        try (TableRowReader rows = new TableRowReader(WorkbookSource.of(Path.of(filePath)))) {
+            List<SheetRow> chunk = new ArrayList<>(chunkSize);
+            SheetRow row;
+            while ((row = rows.next()) != null) {
+                chunk.add(BufferedSheetRow.copyOf(row, rows.getContext().columns.columnCount));
+                if (chunk.size() == chunkSize) {
+                    pending.add(submitChunk(pool, rows.getContext(), chunk));
+                    chunk = new ArrayList<>(chunkSize);
+                    if (pending.size() >= maxChunksInFlight) {
+                        consumeAll(action, joinChunk(pending.poll()));
+                    }
+                }
+            }
+            if (!chunk.isEmpty()) {
+                pending.add(submitChunk(pool, rows.getContext(), chunk));
+            }
+            while (!pending.isEmpty()) {
+                consumeAll(action, joinChunk(pending.poll()));
+            }
+        } finally {
+            pending.forEach(task -> task.cancel(true));
+        }
+    }
+
+    public void forEachEmployeePipelined(
+            String filePath,
+            PipelineOptions options,
+            Consumer<? super Employee> action) throws ExcelParsingException {
+        forEachBatchPipelined(filePath, options, batch -> consumeAll(action, batch));
+    }
+
+    // one thread parses rows into batches, options.getWorkers() threads convert them and the calling
+    // thread hands them to the sink in row order, so XML decoding, conversion and the sink overlap
+    public void forEachBatchPipelined(
+            String filePath,
+            PipelineOptions options,
+            Consumer<? super List<Employee>> sink) throws ExcelParsingException {
+        new Pipeline(new TableRowReader(WorkbookSource.of(Path.of(filePath))), options).run(sink);
+    }
+
+    private ForkJoinTask<List<Employee>> submitChunk(
+            ForkJoinPool pool,
+            ReadContext context,
+            List<SheetRow> chunk) {
+        return pool.submit(() -> {
+            List<Employee> employees = new ArrayList<>(chunk.size());
+            for (SheetRow row : chunk) {
+                employees.add(processRow(context, row));
+            }
+            return employees;
+        });
+    }
+
+    private List<Employee> joinChunk(ForkJoinTask<List<Employee>> task) throws ExcelParsingException {
         try {
-            String email = getCellValue(row, EMAIL_COL, String.class);
-            String phone = getCellValue(row, PHONE_COL, String.class);
-            String address = getCellValue(row, ADDRESS_COL, String.class);
+            return task.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ExcelParsingException("Interrupted while converting rows", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof ExcelParsingException cause) {
+                throw cause;
+            }
+            throw new ExcelParsingException("Error converting rows: " + e.getCause().getMessage(), e.getCause());
+        }
+    }
+
+    private void consume(Consumer<? super Employee> action, Employee employee) {
+        if (metrics == null) {
+            action.accept(employee);
+            return;
+        }
+        long start = System.nanoTime();
+        action.accept(employee);
+        metrics.recordConsume(System.nanoTime() - start);
+    }
 
-            BankAccount bankAccount = createBankAccount(row);
+    private void consumeAll(Consumer<? super Employee> action, List<Employee> employees) {
+        for (Employee employee : employees) {
+            consume(action, employee);
+        }
+    }
 
-            return createEmployee(row, id, email, phone, address, bankAccount);
+    private Employee processRow(ReadContext context, SheetRow row) throws ExcelParsingException {
+        return processRow(context, row, (EmployeeQuery) null);
+    }
+
+    private Employee processRow(ReadContext context, SheetRow row, EmployeeQuery query)
+            throws ExcelParsingException {
+        try {
+            return convertRow(context, row, query);
         } catch (Exception e) {
             throw new ExcelParsingException("Error processing row: " + row.getRowNum() + " - " + e.getMessage(), e);
         }
     }
 
+    private Employee processRow(ReadContext context, SheetRow row, ErrorReport errors) {
+        try {
+            return convertRow(context, row, null);
+        } catch (ConversionException e) {
+            errors.add(row.getRowNum(), e.getColumnIndex(), e.getMessage());
+        } catch (Exception e) {
+            errors.add(row.getRowNum(), ConversionException.WHOLE_ROW, e.getMessage());
+        }
+        return null;
+    }
+
+    // the id is read again here rather than taken from the row reader, so a bad id cell is reported
+    // like any other bad cell
+    private Employee convertRow(ReadContext context, SheetRow row, EmployeeQuery query)
+            throws ExcelParsingException {
+        ReadMetrics metrics = this.metrics;
+        if (metrics == null)
+            return toEmployee(context, row, context.columns.id.read(row, 0), query);
+
+        long start = System.nanoTime();
+        try {
+            return toEmployee(context, row, context.columns.id.read(row, 0), query);
+        } catch (Exception e) {
+            metrics.recordError(e);
+            throw e;
+        } finally {
+            metrics.recordConvert(System.nanoTime() - start);
+        }
+    }
+
+    private Employee toEmployee(ReadContext context, SheetRow row, long id, EmployeeQuery query)
+            throws ExcelParsingException {
+        Employee employee = query == null ? toEmployee(context, row, id) : queryEmployee(context, row, id, query);
+        EmployeeValidator validator = this.validator;
+        if (validator == null || employee == null)
+            return employee;
+        // a query only has the fields it read checked
+        EmployeeField failed = validator.check(employee, query);
+        if (failed != null)
+            throw new ConversionException(EmployeeValidator.describe(failed) + " on row: " + row.getRowNum(),
+                    context.columns.columnOf(failed));
+        return employee;
+    }
+
+    private Employee toEmployee(ReadContext context, SheetRow row, long id) throws ExcelParsingException {
+        EmployeeColumns columns = context.columns;
+        String email = columns.email.read(row);
+        String phone = context.pooled(columns.phone.read(row));
+        String address = context.pooled(columns.address.read(row));
+
+        BankAccount bankAccount = createBankAccount(context, row);
+
+        return createEmployee(context, row, id, email, phone, address, bankAccount);
+    }
+
+    // returns null for rows the query filters out; applies the same checks as toEmployee to what it reads
+    private Employee queryEmployee(ReadContext context, SheetRow row, long id, EmployeeQuery query)
+            throws ExcelParsingException {
+        EmployeeColumns columns = context.columns;
+        String firstName = columns.firstName.read(row);
+        String lastName = columns.lastName.read(row);
+        boolean individual = firstName != null && !firstName.trim().isEmpty() &&
+                lastName != null && !lastName.trim().isEmpty();
+        if (!query.acceptsType(individual))
+            return null;
+
+        int age = 0;
+        boolean hasChildren = false;
+        String companyName = null;
+        CompanyType companyType = null;
+        if (individual) {
+            if (query.filtersAge() || query.projects(EmployeeField.AGE)) {
+                age = columns.age.read(row);
+                if (!query.acceptsAge(age))
+                    return null;
+            }
+            if (query.filtersHasChildren() || query.projects(EmployeeField.HAS_CHILDREN)) {
+                hasChildren = columns.hasChildren.read(row);
+                if (!query.acceptsHasChildren(hasChildren))
+                    return null;
+            }
+        } else {
+            companyName = columns.companyName.read(row);
+            String companyTypeValue = columns.companyType.read(row);
+            if (companyName == null || companyName.trim().isEmpty() ||
+                    companyTypeValue == null || companyTypeValue.trim().isEmpty()) {
+                throw new ConversionException(
+                        "Insufficient data to determine employee type on row: " + row.getRowNum(),
+                        ConversionException.WHOLE_ROW);
+            }
+            companyType = COMPANY_TYPES.get(companyTypeValue);
+            if (companyType == null) {
+                throw new ConversionException(
+                        "Invalid company type on row: " + row.getRowNum(), columns.companyType.getColumnIndex());
+            }
+            if (!query.acceptsCompanyType(companyType))
+                return null;
+        }
+
+        String email = query.projects(EmployeeField.EMAIL) ? columns.email.read(row) : null;
+        String phone = query.projects(EmployeeField.PHONE) ? context.pooled(columns.phone.read(row)) : null;
+        String address = query.projects(EmployeeField.ADDRESS) ? context.pooled(columns.address.read(row)) : null;
+        BankAccount bankAccount = query.projectsBankAccount() ? createBankAccount(context, row) : null;
+
+        if (individual) {
+            return new Individual(id, email, phone, address, bankAccount,
+                    query.projects(EmployeeField.FIRST_NAME) ? firstName : null,
+                    query.projects(EmployeeField.LAST_NAME) ? lastName : null,
+                    hasChildren, age);
+        }
+        return new Company(id, email, phone, address, bankAccount,
+                query.projects(EmployeeField.COMPANY_NAME) ? context.pooled(companyName) : null,
+                query.projects(EmployeeField.COMPANY_TYPE) ? companyType : null);
+    }
+
     private Employee createEmployee(
-            Row row,
+            ReadContext context,
+            SheetRow row,
             long id,
             String email,
             String phone,
             String address,
             BankAccount bankAccount) throws ExcelParsingException {
+        EmployeeColumns columns = context.columns;
 
-        String firstName = getCellValue(row, FIRST_NAME_COL, String.class);
-        String lastName = getCellValue(row, LAST_NAME_COL, String.class);
-        String companyName = getCellValue(row, COMPANY_NAME_COL, String.class);
-        String companyTypeValue = getCellValue(row, COMPANY_TYPE_COL, String.class);
+        String firstName = columns.firstName.read(row);
+        String lastName = columns.lastName.read(row);
 
         if (firstName != null && !firstName.trim().isEmpty() &&
                 lastName != null && !lastName.trim().isEmpty()) {
-            return createIndividual(row, id, email, phone, address, bankAccount, firstName, lastName);
+            return createIndividual(context, row, id, email, phone, address, bankAccount, firstName, lastName);
         }
 
+        String companyName = context.pooled(columns.companyName.read(row));
+        String companyTypeValue = columns.companyType.read(row);
+
         if (companyName != null && !companyName.trim().isEmpty() &&
                 companyTypeValue != null && !companyTypeValue.trim().isEmpty()) {
-            return createCompany(row, id, email, phone, address, bankAccount, companyName, companyTypeValue);
+            return createCompany(context, row, id, email, phone, address, bankAccount, companyName, companyTypeValue);
         }
 
-        throw new ExcelParsingException("Insufficient data to determine employee type on row: " + row.getRowNum());
+        throw new ConversionException(
+                "Insufficient data to determine employee type on row: " + row.getRowNum(), ConversionException.WHOLE_ROW);
     }
 
     private Individual createIndividual(
-            Row row,
+            ReadContext context,
+            SheetRow row,
             long id,
             String email,
             String phone,
@@ -98,13 +615,14 @@ public class XlsxReaderService {
             BankAccount bankAccount,
             String firstName,
             String lastName) throws ExcelParsingException {
-        boolean hasChildren = getCellValue(row, HAS_CHILDREN_COL, Boolean.class);
-        int age = getCellValue(row, AGE_COL, Integer.class);
+        boolean hasChildren = context.columns.hasChildren.read(row);
+        int age = context.columns.age.read(row);
         return new Individual(id, email, phone, address, bankAccount, firstName, lastName, hasChildren, age);
     }
 
     private Company createCompany(
-            Row row,
+            ReadContext context,
+            SheetRow row,
             long id,
             String email,
             String phone,
@@ -112,78 +630,347 @@ public class XlsxReaderService {
             BankAccount bankAccount,
             String companyName,
             String companyTypeValue) throws ExcelParsingException {
-        CompanyType companyType;
-        try {
-            companyType = CompanyType.valueOf(companyTypeValue);
-        } catch (IllegalArgumentException e) {
-            throw new ExcelParsingException("Invalid company type on row: " + row.getRowNum());
+        CompanyType companyType = COMPANY_TYPES.get(companyTypeValue);
+        if (companyType == null) {
+            throw new ConversionException(
+                    "Invalid company type on row: " + row.getRowNum(), context.columns.companyType.getColumnIndex());
         }
 
         return new Company(id, email, phone, address, bankAccount, companyName, companyType);
     }
 
-    private BankAccount createBankAccount(Row row) throws ExcelParsingException {
-        String iban = getCellValue(row, IBAN_COL, String.class);
-        String bic = getCellValue(row, BIC_COL, String.class);
-        String accountHolder = getCellValue(row, ACCOUNT_HOLDER_COL, String.class);
+    private BankAccount createBankAccount(ReadContext context, SheetRow row) throws ExcelParsingException {
+        EmployeeColumns columns = context.columns;
+        String iban = columns.iban.read(row);
+        String bic = context.pooled(columns.bic.read(row));
+        String accountHolder = context.pooled(columns.accountHolder.read(row));
 
         if (iban == null || bic == null || accountHolder == null) {
-            throw new ExcelParsingException("Incomplete bank account data on row: " + row.getRowNum());
+            int missingColumn = iban == null ? columns.iban.getColumnIndex()
+                    : bic == null ? columns.bic.getColumnIndex()
+                    : columns.accountHolder.getColumnIndex();
+            throw new ConversionException("Incomplete bank account data on row: " + row.getRowNum(), missingColumn);
         }
         return new BankAccount(iban, bic, accountHolder);
     }
 
-    private <T> T getCellValue(Row row, int columnIndex, Class<T> clazz) throws ExcelParsingException {
-        Cell cell = row.getCell(columnIndex);
-        if (cell == null)
+    private class TableRowReader implements AutoCloseable {
+        private final StringPool stringPool;
+        private final SheetWorkbook ownedWorkbook;
+        private final SheetRowReader rows;
+        private final ReadMetrics metrics = XlsxReaderService.this.metrics;
+        private final long startNanos;
+        private final long startAllocated;
+        private final Thread startThread = Thread.currentThread();
+        private int expectedRowNum = schema.getFirstDataRow();
+        private ReadContext context;
+        private long id;
+        private boolean finished;
+        private boolean closed;
+
+        TableRowReader(WorkbookSource source) throws ExcelParsingException {
+            this(null, source, 0);
+        }
+
+        TableRowReader(SheetWorkbook workbook, int sheetIndex) throws ExcelParsingException {
+            this(workbook, null, sheetIndex);
+        }
+
+        // opens and owns a workbook of its own unless one is shared with it
+        private TableRowReader(SheetWorkbook workbook, WorkbookSource source, int sheetIndex)
+                throws ExcelParsingException {
+            this.stringPool = stringPoolSize > 0 ? new StringPool(stringPoolSize) : null;
+            this.startNanos = metrics != null ? System.nanoTime() : 0;
+            this.startAllocated = metrics != null ? ReadMetrics.currentThreadAllocatedBytes() : 0;
+            SheetWorkbook owned = null;
+            try {
+                if (workbook == null)
+                    workbook = owned = openWorkbook(source);
+                this.rows = workbook.openSheet(sheetIndex, stringPool);
+            } catch (ExcelParsingException e) {
+                if (owned != null)
+                    owned.close();
+                if (metrics != null)
+                    metrics.recordError(e.getCause() != null ? e.getCause() : e);
+                throw e;
+            }
+            this.ownedWorkbook = owned;
+            if (metrics != null)
+                metrics.recordOpen(System.nanoTime() - startNanos);
+            if (!schema.isHeaderDriven()) {
+                context = new ReadContext(schema.fixedColumns(), stringPool);
+            }
+        }
+
+        SheetRow next() throws ExcelParsingException {
+            while (!finished && advance()) {
+                SheetRow row = rows.getRow();
+                if (row.getRowNum() == schema.getHeaderRowIndex())
+                    context = new ReadContext(schema.resolve(row), stringPool);
+                if (row.getRowNum() < schema.getFirstDataRow())
+                    continue;
+                if (context == null)
+                    throw new ExcelParsingException("Header row not found: " + schema.getHeaderRowIndex());
+                // a gap in the row numbers is a missing row, which ends the table
+                if (row.getRowNum() != expectedRowNum)
+                    break;
+                // only a missing or zero id ends the table; an id of another type is a bad row,
+                // which is reported when the row is converted
+                if (context.columns.id.isZeroOrMissing(row))
+                    break;
+                id = context.columns.id.readIfNumeric(row);
+                expectedRowNum++;
+                if (metrics != null)
+                    metrics.recordRow(row, context.columns.columnCount);
+                return row;
+            }
+
+            finished = true;
+            close();
             return null;
+        }
 
-        CellType cellType = cell.getCellType();
+        private boolean advance() throws ExcelParsingException {
+            if (metrics == null)
+                return rows.next();
 
-        try {
-            return switch (cellType) {
-                case STRING -> {
-                    if (clazz == String.class) {
-                        yield clazz.cast(cell.getStringCellValue());
-                    } else {
-                        throw new ExcelParsingException(
-                                "Expected " + clazz.getSimpleName() + " but got STRING at row: " + row.getRowNum());
+            long start = System.nanoTime();
+            try {
+                return rows.next();
+            } finally {
+                metrics.recordParse(System.nanoTime() - start);
+            }
+        }
+
+        long getId() {
+            return id;
+        }
+
+        ReadContext getContext() {
+            return context;
+        }
+
+        @Override
+        public void close() throws ExcelParsingException {
+            finished = true;
+            if (!closed) {
+                closed = true;
+                if (stringPool != null) {
+                    stringPoolLookups.add(stringPool.getLookups());
+                    stringPoolHits.add(stringPool.getHits());
+                }
+                try {
+                    rows.close();
+                } finally {
+                    if (ownedWorkbook != null)
+                        ownedWorkbook.close();
+                }
+                if (metrics != null) {
+                    // allocation is tracked per thread, so a reader closed elsewhere only reports its time
+                    long allocated = Thread.currentThread() == startThread && startAllocated >= 0
+                            ? ReadMetrics.currentThreadAllocatedBytes() - startAllocated
+                            : 0;
+                    metrics.recordRead(System.nanoTime() - startNanos, allocated);
+                }
+            }
+        }
+    }
+
+    private class Pipeline {
+        private final PipelineBatch endOfRows = new PipelineBatch(null, null);
+        private final TableRowReader rows;
+        private final PipelineOptions options;
+        // bounded hand-off from the parser to the workers
+        private final BlockingQueue<PipelineBatch> work;
+        // the same batches in row order, for the sink
+        private final BlockingQueue<CompletableFuture<List<Employee>>> ordered = new LinkedBlockingQueue<>();
+        // taken by the parser per batch and returned by the sink, so at most queueDepth batches are held
+        private final Semaphore inFlight;
+        private final List<Thread> threads = new ArrayList<>();
+
+        Pipeline(TableRowReader rows, PipelineOptions options) {
+            this.rows = rows;
+            this.options = options;
+            this.work = new ArrayBlockingQueue<>(options.getQueueDepth() + options.getWorkers());
+            this.inFlight = new Semaphore(options.getQueueDepth());
+        }
+
+        void run(Consumer<? super List<Employee>> sink) throws ExcelParsingException {
+            start("xlsx-pipeline-parse", this::parse);
+            for (int i = 0; i < options.getWorkers(); i++) {
+                start("xlsx-pipeline-convert-" + i, this::convert);
+            }
+
+            boolean completed = false;
+            try {
+                List<Employee> batch;
+                while ((batch = await(ordered.take())) != null) {
+                    sink.accept(batch);
+                    inFlight.release();
+                }
+                completed = true;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new ExcelParsingException("Pipelined read interrupted", e);
+            } finally {
+                stop(!completed);
+            }
+        }
+
+        private void parse() {
+            try (TableRowReader rows = this.rows) {
+                List<SheetRow> chunk = new ArrayList<>(options.getBatchSize());
+                SheetRow row;
+                while ((row = rows.next()) != null) {
+                    chunk.add(BufferedSheetRow.copyOf(row, rows.getContext().columns.columnCount));
+                    if (chunk.size() == options.getBatchSize()) {
+                        submit(rows.getContext(), chunk);
+                        chunk = new ArrayList<>(options.getBatchSize());
                     }
                 }
-                case NUMERIC -> {
-                    if (clazz == String.class) {
-                        double numericValue = cell.getNumericCellValue();
-                        if (numericValue == Math.floor(numericValue)) {
-                            yield clazz.cast(String.valueOf((long) numericValue));
-                        } else {
-                            yield clazz.cast(String.valueOf(numericValue));
+                if (!chunk.isEmpty()) {
+                    submit(rows.getContext(), chunk);
+                }
+                ordered.add(CompletableFuture.completedFuture(null));
+            } catch (InterruptedException e) {
+                // the sink gave up, nobody is waiting for the rest
+            } catch (Throwable e) {
+                // errors included, otherwise the sink would wait forever for the end of the rows
+                ordered.add(CompletableFuture.failedFuture(e));
+            } finally {
+                for (int i = 0; i < options.getWorkers(); i++) {
+                    work.offer(endOfRows);
+                }
+            }
+        }
+
+        private void submit(ReadContext context, List<SheetRow> chunk) throws InterruptedException {
+            inFlight.acquire();
+            PipelineBatch batch = new PipelineBatch(context, chunk);
+            ordered.add(batch.result);
+            work.put(batch);
+        }
+
+        private void convert() {
+            try {
+                PipelineBatch batch;
+                while ((batch = work.take()) != endOfRows) {
+                    try {
+                        List<Employee> employees = new ArrayList<>(batch.rows.size());
+                        for (SheetRow row : batch.rows) {
+                            employees.add(processRow(batch.context, row));
                         }
-                    } else if (clazz == Long.class) {
-                        yield clazz.cast((long) cell.getNumericCellValue());
-                    } else if (clazz == Integer.class) {
-                        yield clazz.cast((int) cell.getNumericCellValue());
-                    } else {
-                        throw new ExcelParsingException(
-                                "Expected " + clazz.getSimpleName() + " but got NUMERIC at row: " + row.getRowNum());
+                        batch.result.complete(employees);
+                    } catch (Throwable e) {
+                        // errors included, the sink is waiting on this batch
+                        batch.result.completeExceptionally(e);
                     }
                 }
-                case BOOLEAN -> {
-                    if (clazz == String.class) {
-                        yield clazz.cast(String.valueOf(cell.getBooleanCellValue()));
-                    } else if (clazz == Boolean.class) {
-                        yield clazz.cast(cell.getBooleanCellValue());
-                    } else {
-                        throw new ExcelParsingException(
-                                "Expected " + clazz.getSimpleName() + " but got BOOLEAN at row: " + row.getRowNum());
+            } catch (InterruptedException e) {
+                // the sink gave up
+            }
+        }
+
+        private List<Employee> await(CompletableFuture<List<Employee>> result)
+                throws ExcelParsingException, InterruptedException {
+            try {
+                return result.get();
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof ExcelParsingException cause)
+                    throw cause;
+                if (e.getCause() instanceof RuntimeException cause)
+                    throw cause;
+                if (e.getCause() instanceof Error cause)
+                    throw cause;
+                throw new IllegalStateException(e.getCause());
+            }
+        }
+
+        private void start(String name, Runnable task) {
+            Thread thread = new Thread(task, name);
+            thread.setDaemon(true);
+            threads.add(thread);
+            thread.start();
+        }
+
+        // the parser closes the workbook on its way out, so it is always waited for
+        private void stop(boolean abort) {
+            boolean interrupted = false;
+            for (Thread thread : threads) {
+                if (abort)
+                    thread.interrupt();
+                while (thread.isAlive()) {
+                    try {
+                        thread.join();
+                    } catch (InterruptedException e) {
+                        interrupted = true;
                     }
                 }
-                case BLANK -> null;
-                default -> throw new ExcelParsingException("Unsupported cell type: " + cellType);
-            };
-        } catch (ClassCastException e) {
-            throw new ExcelParsingException("Error casting cell value at index " + columnIndex + ": " + e.getMessage(),
-                    e);
+            }
+            if (interrupted)
+                Thread.currentThread().interrupt();
         }
     }
 
+    private static class PipelineBatch {
+        private final ReadContext context;
+        private final List<SheetRow> rows;
+        private final CompletableFuture<List<Employee>> result = new CompletableFuture<>();
+
+        PipelineBatch(ReadContext context, List<SheetRow> rows) {
+            this.context = context;
+            this.rows = rows;
+        }
+    }
+
+    private class EmployeeReader implements EmployeeIterator {
+        private final TableRowReader rows;
+        private Employee next;
+        private boolean finished;
+
+        EmployeeReader(TableRowReader rows) {
+            this.rows = rows;
+        }
+
+        Employee read() throws ExcelParsingException {
+            SheetRow row = rows.next();
+            if (row == null) {
+                finished = true;
+                return null;
+            }
+            return processRow(rows.getContext(), row);
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (next == null && !finished) {
+                try {
+                    next = read();
+                } catch (ExcelParsingException e) {
+                    close();
+                    throw new UncheckedExcelParsingException(e);
+                }
+            }
+            return next != null;
+        }
+
+        @Override
+        public Employee next() {
+            if (!hasNext())
+                throw new NoSuchElementException();
+            Employee employee = next;
+            next = null;
+            return employee;
+        }
+
+        @Override
+        public void close() {
+            finished = true;
+            try {
+                rows.close();
+            } catch (ExcelParsingException e) {
+                throw new UncheckedExcelParsingException(e);
+            }
+        }
+    }
 }
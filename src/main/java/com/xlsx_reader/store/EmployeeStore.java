@@ -0,0 +1,262 @@
+package com.xlsx_reader.store;
+
+import com.xlsx_reader.domain.BankAccount;
+import com.xlsx_reader.domain.Company;
+import com.xlsx_reader.domain.CompanyType;
+import com.xlsx_reader.domain.Employee;
+import com.xlsx_reader.domain.Individual;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Consumer;
+
+public class EmployeeStore {
+    static final byte INDIVIDUAL = -1;
+    // a company read without its type, e.g. through a query that does not project it
+    static final byte UNKNOWN_COMPANY_TYPE = -2;
+
+    private static final CompanyType[] COMPANY_TYPES = CompanyType.values();
+
+    private final int size;
+    final long[] ids;
+    final byte[] companyTypes;
+    final int[] ages;
+    final boolean[] hasChildren;
+    final StringColumn emails;
+    final StringColumn phones;
+    final StringColumn addresses;
+    final StringColumn firstNames;
+    final StringColumn lastNames;
+    final StringColumn companyNames;
+    final StringColumn ibans;
+    final StringColumn bics;
+    final StringColumn accountHolders;
+
+    EmployeeStore(
+            int size,
+            long[] ids,
+            byte[] companyTypes,
+            int[] ages,
+            boolean[] hasChildren,
+            StringColumn[] stringColumns) {
+        this.size = size;
+        this.ids = ids;
+        this.companyTypes = companyTypes;
+        this.ages = ages;
+        this.hasChildren = hasChildren;
+        this.emails = stringColumns[0];
+        this.phones = stringColumns[1];
+        this.addresses = stringColumns[2];
+        this.firstNames = stringColumns[3];
+        this.lastNames = stringColumns[4];
+        this.companyNames = stringColumns[5];
+        this.ibans = stringColumns[6];
+        this.bics = stringColumns[7];
+        this.accountHolders = stringColumns[8];
+    }
+
+    private EmployeeStore(Builder builder) {
+        this.size = builder.size;
+        this.ids = Arrays.copyOf(builder.ids, size);
+        this.companyTypes = Arrays.copyOf(builder.companyTypes, size);
+        this.ages = Arrays.copyOf(builder.ages, size);
+        this.hasChildren = Arrays.copyOf(builder.hasChildren, size);
+        this.emails = builder.emails.freeze(size);
+        this.phones = builder.phones.freeze(size);
+        this.addresses = builder.addresses.freeze(size);
+        this.firstNames = builder.firstNames.freeze(size);
+        this.lastNames = builder.lastNames.freeze(size);
+        this.companyNames = builder.companyNames.freeze(size);
+        this.ibans = builder.ibans.freeze(size);
+        this.bics = builder.bics.freeze(size);
+        this.accountHolders = builder.accountHolders.freeze(size);
+    }
+
+    StringColumn[] stringColumns() {
+        return new StringColumn[] { emails, phones, addresses, firstNames, lastNames, companyNames, ibans, bics,
+                accountHolders };
+    }
+
+    public List<Employee> toList() {
+        List<Employee> employees = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            employees.add(get(i));
+        }
+        return employees;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    // summed per column, so a value shared by two columns counts twice
+    public int distinctStrings() {
+        int distinct = 0;
+        for (StringColumn column : stringColumns()) {
+            distinct += column.distinct();
+        }
+        return distinct;
+    }
+
+    public EmployeeView view() {
+        return new EmployeeView(this);
+    }
+
+    public Employee get(int index) {
+        String iban = ibans.get(index);
+        String bic = bics.get(index);
+        String accountHolder = accountHolders.get(index);
+        // parsed bank accounts are always complete, so three nulls mean there was none
+        BankAccount bankAccount = iban == null && bic == null && accountHolder == null
+                ? null
+                : new BankAccount(iban, bic, accountHolder);
+
+        if (companyTypes[index] == INDIVIDUAL) {
+            return new Individual(
+                    ids[index],
+                    emails.get(index),
+                    phones.get(index),
+                    addresses.get(index),
+                    bankAccount,
+                    firstNames.get(index),
+                    lastNames.get(index),
+                    hasChildren[index],
+                    ages[index]);
+        }
+        return new Company(
+                ids[index],
+                emails.get(index),
+                phones.get(index),
+                addresses.get(index),
+                bankAccount,
+                companyNames.get(index),
+                companyType(companyTypes[index]));
+    }
+
+    public long countIndividuals() {
+        long count = 0;
+        for (int i = 0; i < size; i++) {
+            if (companyTypes[i] == INDIVIDUAL)
+                count++;
+        }
+        return count;
+    }
+
+    public long countCompanies() {
+        return size - countIndividuals();
+    }
+
+    public long countIndividualsYoungerThan(int age) {
+        long count = 0;
+        for (int i = 0; i < size; i++) {
+            if (companyTypes[i] == INDIVIDUAL && ages[i] < age)
+                count++;
+        }
+        return count;
+    }
+
+    public long countCompanies(CompanyType type) {
+        byte ordinal = (byte) type.ordinal();
+        long count = 0;
+        for (int i = 0; i < size; i++) {
+            if (companyTypes[i] == ordinal)
+                count++;
+        }
+        return count;
+    }
+
+    static CompanyType companyType(byte ordinal) {
+        return ordinal == UNKNOWN_COMPANY_TYPE ? null : COMPANY_TYPES[ordinal];
+    }
+
+    public static class Builder implements Consumer<Employee> {
+        private static final int INITIAL_CAPACITY = 1024;
+
+        private int size;
+        private long[] ids = new long[INITIAL_CAPACITY];
+        private byte[] companyTypes = new byte[INITIAL_CAPACITY];
+        private int[] ages = new int[INITIAL_CAPACITY];
+        private boolean[] hasChildren = new boolean[INITIAL_CAPACITY];
+        private final EncodedColumn emails = new EncodedColumn();
+        private final EncodedColumn phones = new EncodedColumn();
+        private final EncodedColumn addresses = new EncodedColumn();
+        private final EncodedColumn firstNames = new EncodedColumn();
+        private final EncodedColumn lastNames = new EncodedColumn();
+        private final EncodedColumn companyNames = new EncodedColumn();
+        private final EncodedColumn ibans = new EncodedColumn();
+        private final EncodedColumn bics = new EncodedColumn();
+        private final EncodedColumn accountHolders = new EncodedColumn();
+
+        @Override
+        public void accept(Employee employee) {
+            if (size == ids.length) {
+                grow();
+            }
+
+            ids[size] = employee.getId();
+            emails.set(size, employee.getEmail());
+            phones.set(size, employee.getPhone());
+            addresses.set(size, employee.getAddress());
+            BankAccount bankAccount = employee.getBankAccount();
+            ibans.set(size, bankAccount != null ? bankAccount.getIban() : null);
+            bics.set(size, bankAccount != null ? bankAccount.getBic() : null);
+            accountHolders.set(size, bankAccount != null ? bankAccount.getAccountHolder() : null);
+
+            if (employee instanceof Individual individual) {
+                companyTypes[size] = INDIVIDUAL;
+                ages[size] = individual.getAge();
+                hasChildren[size] = individual.isHasChildren();
+                firstNames.set(size, individual.getFirstName());
+                lastNames.set(size, individual.getLastName());
+                companyNames.set(size, null);
+            } else {
+                Company company = (Company) employee;
+                CompanyType type = company.getType();
+                companyTypes[size] = type != null ? (byte) type.ordinal() : UNKNOWN_COMPANY_TYPE;
+                firstNames.set(size, null);
+                lastNames.set(size, null);
+                companyNames.set(size, company.getName());
+            }
+            size++;
+        }
+
+        public EmployeeStore build() {
+            return new EmployeeStore(this);
+        }
+
+        private void grow() {
+            int capacity = ids.length * 2;
+            ids = Arrays.copyOf(ids, capacity);
+            companyTypes = Arrays.copyOf(companyTypes, capacity);
+            ages = Arrays.copyOf(ages, capacity);
+            hasChildren = Arrays.copyOf(hasChildren, capacity);
+            emails.grow(capacity);
+            phones.grow(capacity);
+            addresses.grow(capacity);
+            firstNames.grow(capacity);
+            lastNames.grow(capacity);
+            companyNames.grow(capacity);
+            ibans.grow(capacity);
+            bics.grow(capacity);
+            accountHolders.grow(capacity);
+        }
+    }
+
+    private static class EncodedColumn {
+        private final StringDictionary dictionary = new StringDictionary();
+        private int[] codes = new int[Builder.INITIAL_CAPACITY];
+
+        void set(int row, String value) {
+            codes[row] = dictionary.encode(value);
+        }
+
+        void grow(int capacity) {
+            codes = Arrays.copyOf(codes, capacity);
+        }
+
+        StringColumn freeze(int size) {
+            return dictionary.freeze(codes, size);
+        }
+    }
+}
@@ -0,0 +1,221 @@
+package com.xlsx_reader.store;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+public final class EmployeeStoreCodec {
+    private static final int MAGIC = 0x584C5345;
+    private static final int FORMAT_VERSION = 2;
+    private static final byte ENCODED_COLUMN = 0;
+    private static final byte RAW_COLUMN = 1;
+    private static final int STRING_COLUMNS = 9;
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private EmployeeStoreCodec() {
+    }
+
+    public static void write(EmployeeStore store, Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file,
+                StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            write(store, channel);
+        }
+    }
+
+    // appends one self-contained block, so several stores can follow each other in one file; returns its size
+    public static long write(EmployeeStore store, WritableByteChannel channel) throws IOException {
+        ChannelWriter out = new ChannelWriter(channel);
+        int size = store.size();
+
+        out.putInt(MAGIC);
+        out.putInt(FORMAT_VERSION);
+        out.putInt(size);
+
+        for (int i = 0; i < size; i++) {
+            out.putLong(store.ids[i]);
+        }
+        for (int i = 0; i < size; i++) {
+            out.put(store.companyTypes[i]);
+        }
+        for (int i = 0; i < size; i++) {
+            out.putInt(store.ages[i]);
+        }
+        for (int i = 0; i < size; i++) {
+            out.put((byte) (store.hasChildren[i] ? 1 : 0));
+        }
+        for (StringColumn column : store.stringColumns()) {
+            writeColumn(out, column, size);
+        }
+        out.flush();
+        return out.bytesWritten;
+    }
+
+    private static void writeColumn(ChannelWriter out, StringColumn column, int size) throws IOException {
+        out.put(column.isRaw() ? RAW_COLUMN : ENCODED_COLUMN);
+        out.putInt(column.distinct());
+        String[] values = column.values();
+        if (!column.isRaw()) {
+            out.putInt(values.length);
+        }
+        for (String value : values) {
+            putString(out, value);
+        }
+        if (!column.isRaw()) {
+            int[] codes = column.codes();
+            for (int i = 0; i < size; i++) {
+                out.putInt(codes[i]);
+            }
+        }
+    }
+
+    private static void putString(ChannelWriter out, String value) throws IOException {
+        if (value == null) {
+            out.putInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.putInt(bytes.length);
+        out.put(bytes);
+    }
+
+    public static EmployeeStore read(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            MappedByteBuffer in = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            return read(in, file);
+        }
+    }
+
+    // every block written to the file, in order
+    public static List<EmployeeStore> readAll(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            MappedByteBuffer in = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            List<EmployeeStore> stores = new ArrayList<>();
+            while (in.hasRemaining()) {
+                stores.add(read(in, file));
+            }
+            return stores;
+        }
+    }
+
+    private static EmployeeStore read(ByteBuffer in, Path file) throws IOException {
+        try {
+            if (in.getInt() != MAGIC || in.getInt() != FORMAT_VERSION) {
+                throw new IOException("Not an employee snapshot: " + file);
+            }
+            int size = in.getInt();
+
+            long[] ids = new long[size];
+            in.asLongBuffer().get(ids);
+            in.position(in.position() + size * Long.BYTES);
+
+            byte[] companyTypes = new byte[size];
+            in.get(companyTypes);
+
+            int[] ages = readInts(in, size);
+
+            boolean[] hasChildren = new boolean[size];
+            for (int i = 0; i < size; i++) {
+                hasChildren[i] = in.get() != 0;
+            }
+
+            StringColumn[] stringColumns = new StringColumn[STRING_COLUMNS];
+            for (int c = 0; c < STRING_COLUMNS; c++) {
+                stringColumns[c] = readColumn(in, size);
+            }
+
+            return new EmployeeStore(size, ids, companyTypes, ages, hasChildren, stringColumns);
+        } catch (RuntimeException e) {
+            throw new IOException("Corrupt employee snapshot " + file + ": " + e.getMessage(), e);
+        }
+    }
+
+    private static StringColumn readColumn(ByteBuffer in, int size) {
+        byte kind = in.get();
+        int distinct = in.getInt();
+        if (kind == RAW_COLUMN) {
+            return StringColumn.raw(readStrings(in, size), distinct);
+        }
+        if (kind != ENCODED_COLUMN) {
+            throw new IllegalStateException("unknown string column kind " + kind);
+        }
+        String[] values = readStrings(in, in.getInt());
+        return StringColumn.encoded(values, readInts(in, size));
+    }
+
+    private static String[] readStrings(ByteBuffer in, int count) {
+        String[] strings = new String[count];
+        for (int i = 0; i < count; i++) {
+            int length = in.getInt();
+            if (length >= 0) {
+                byte[] bytes = new byte[length];
+                in.get(bytes);
+                strings[i] = new String(bytes, StandardCharsets.UTF_8);
+            }
+        }
+        return strings;
+    }
+
+    private static int[] readInts(ByteBuffer in, int size) {
+        int[] values = new int[size];
+        in.asIntBuffer().get(values);
+        in.position(in.position() + size * Integer.BYTES);
+        return values;
+    }
+
+    private static class ChannelWriter {
+        private final WritableByteChannel channel;
+        private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+        private long bytesWritten;
+
+        ChannelWriter(WritableByteChannel channel) {
+            this.channel = channel;
+        }
+
+        void putInt(int value) throws IOException {
+            ensure(Integer.BYTES);
+            buffer.putInt(value);
+        }
+
+        void putLong(long value) throws IOException {
+            ensure(Long.BYTES);
+            buffer.putLong(value);
+        }
+
+        void put(byte value) throws IOException {
+            ensure(1);
+            buffer.put(value);
+        }
+
+        void put(byte[] bytes) throws IOException {
+            int offset = 0;
+            while (offset < bytes.length) {
+                ensure(1);
+                int length = Math.min(buffer.remaining(), bytes.length - offset);
+                buffer.put(bytes, offset, length);
+                offset += length;
+            }
+        }
+
+        void flush() throws IOException {
+            buffer.flip();
+            bytesWritten += buffer.remaining();
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            buffer.clear();
+        }
+
+        private void ensure(int bytes) throws IOException {
+            if (buffer.remaining() < bytes) {
+                flush();
+            }
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package com.xlsx_reader.store;
+
+import com.xlsx_reader.domain.CompanyType;
+
+public class EmployeeView {
+    private final EmployeeStore store;
+    private int index = -1;
+
+    EmployeeView(EmployeeStore store) {
+        this.store = store;
+    }
+
+    public EmployeeView moveTo(int index) {
+        if (index < 0 || index >= store.size())
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for size " + store.size());
+        this.index = index;
+        return this;
+    }
+
+    public boolean next() {
+        if (index + 1 >= store.size())
+            return false;
+        index++;
+        return true;
+    }
+
+    public int getIndex() {
+        return index;
+    }
+
+    public boolean isIndividual() {
+        return store.companyTypes[index] == EmployeeStore.INDIVIDUAL;
+    }
+
+    public boolean isCompany() {
+        return !isIndividual();
+    }
+
+    public long getId() {
+        return store.ids[index];
+    }
+
+    public String getEmail() {
+        return store.emails.get(index);
+    }
+
+    public String getPhone() {
+        return store.phones.get(index);
+    }
+
+    public String getAddress() {
+        return store.addresses.get(index);
+    }
+
+    public String getIban() {
+        return store.ibans.get(index);
+    }
+
+    public String getBic() {
+        return store.bics.get(index);
+    }
+
+    public String getAccountHolder() {
+        return store.accountHolders.get(index);
+    }
+
+    public String getFirstName() {
+        return store.firstNames.get(index);
+    }
+
+    public String getLastName() {
+        return store.lastNames.get(index);
+    }
+
+    public boolean isHasChildren() {
+        return store.hasChildren[index];
+    }
+
+    public int getAge() {
+        return store.ages[index];
+    }
+
+    public String getName() {
+        return store.companyNames.get(index);
+    }
+
+    public CompanyType getType() {
+        return isIndividual() ? null : EmployeeStore.companyType(store.companyTypes[index]);
+    }
+}
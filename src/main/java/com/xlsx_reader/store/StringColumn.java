@@ -0,0 +1,46 @@
+package com.xlsx_reader.store;
+
+// read-only string column of a finished store; mostly-unique columns keep one string per row,
+// the others keep their distinct values and a code per row
+final class StringColumn {
+    private final String[] values;
+    private final int[] codes;
+    private final int distinct;
+
+    private StringColumn(String[] values, int[] codes, int distinct) {
+        this.values = values;
+        this.codes = codes;
+        this.distinct = distinct;
+    }
+
+    static StringColumn raw(String[] rows, int distinct) {
+        return new StringColumn(rows, null, distinct);
+    }
+
+    static StringColumn encoded(String[] values, int[] codes) {
+        return new StringColumn(values, codes, values.length);
+    }
+
+    String get(int row) {
+        if (codes == null)
+            return values[row];
+        int code = codes[row];
+        return code == StringDictionary.NULL_CODE ? null : values[code];
+    }
+
+    boolean isRaw() {
+        return codes == null;
+    }
+
+    String[] values() {
+        return values;
+    }
+
+    int[] codes() {
+        return codes;
+    }
+
+    int distinct() {
+        return distinct;
+    }
+}
@@ -0,0 +1,46 @@
+package com.xlsx_reader.store;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// builder-side encoder for one column; only the finished StringColumn outlives the builder
+class StringDictionary {
+    static final int NULL_CODE = -1;
+
+    private final Map<String, Integer> codes = new HashMap<>();
+    private final List<String> values = new ArrayList<>();
+
+    int encode(String value) {
+        if (value == null)
+            return NULL_CODE;
+        Integer code = codes.get(value);
+        if (code == null) {
+            code = values.size();
+            codes.put(value, code);
+            values.add(value);
+        }
+        return code;
+    }
+
+    int size() {
+        return values.size();
+    }
+
+    // a dictionary only pays off when values repeat, so columns with more than half their rows distinct are
+    // stored as plain strings
+    StringColumn freeze(int[] rowCodes, int rows) {
+        String[] distinct = values.toArray(new String[0]);
+        if (distinct.length * 2 <= rows)
+            return StringColumn.encoded(distinct, Arrays.copyOf(rowCodes, rows));
+
+        String[] strings = new String[rows];
+        for (int i = 0; i < rows; i++) {
+            int code = rowCodes[i];
+            strings[i] = code == NULL_CODE ? null : distinct[code];
+        }
+        return StringColumn.raw(strings, distinct.length);
+    }
+}
@@ -0,0 +1,15 @@
+package com.xlsx_reader.summary;
+
+import com.xlsx_reader.domain.Employee;
+
+import java.io.PrintStream;
+
+public interface EmployeeAggregate {
+    void accept(Employee employee);
+
+    void merge(EmployeeAggregate other);
+
+    EmployeeAggregate empty();
+
+    void print(PrintStream out);
+}
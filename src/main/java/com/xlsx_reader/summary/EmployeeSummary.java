@@ -0,0 +1,152 @@
+package com.xlsx_reader.summary;
+
+import com.xlsx_reader.domain.Company;
+import com.xlsx_reader.domain.Employee;
+import com.xlsx_reader.domain.Individual;
+import com.xlsx_reader.store.EmployeeStore;
+import com.xlsx_reader.store.EmployeeView;
+
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+public class EmployeeSummary implements Consumer<Employee> {
+    private static final int MINOR_AGE = 20;
+
+    private final List<EmployeeAggregate> aggregates = new ArrayList<>();
+    private final List<String> individualNames = new ArrayList<>();
+    private int nameLimit = Integer.MAX_VALUE;
+    private long unlistedNames;
+    private long employeeCount;
+    private long individualCount;
+    private long companyCount;
+    private long individualsUnder20;
+
+    public EmployeeSummary register(EmployeeAggregate aggregate) {
+        aggregates.add(aggregate);
+        return this;
+    }
+
+    // every other figure is a counter, the names are the only part that grows with the rows; past the
+    // limit a name is only counted, so the summary of any file fits in a fixed amount of memory
+    public EmployeeSummary limitNames(int nameLimit) {
+        if (nameLimit < 0)
+            throw new IllegalArgumentException("Name limit must not be negative: " + nameLimit);
+        this.nameLimit = nameLimit;
+        return this;
+    }
+
+    @Override
+    public void accept(Employee employee) {
+        employeeCount++;
+        if (employee instanceof Individual individual) {
+            individualCount++;
+            if (individual.getAge() < MINOR_AGE) {
+                individualsUnder20++;
+            }
+            addName(individual.getFirstName(), individual.getLastName());
+        } else if (employee instanceof Company) {
+            companyCount++;
+        }
+
+        for (EmployeeAggregate aggregate : aggregates) {
+            aggregate.accept(employee);
+        }
+    }
+
+    public void accept(EmployeeStore store) {
+        employeeCount += store.size();
+        individualCount += store.countIndividuals();
+        companyCount += store.countCompanies();
+        individualsUnder20 += store.countIndividualsYoungerThan(MINOR_AGE);
+
+        EmployeeView view = store.view();
+        while (view.next()) {
+            if (view.isIndividual()) {
+                addName(view.getFirstName(), view.getLastName());
+            }
+        }
+
+        if (!aggregates.isEmpty()) {
+            for (int i = 0; i < store.size(); i++) {
+                Employee employee = store.get(i);
+                for (EmployeeAggregate aggregate : aggregates) {
+                    aggregate.accept(employee);
+                }
+            }
+        }
+    }
+
+    public void merge(EmployeeSummary other) {
+        employeeCount += other.employeeCount;
+        individualCount += other.individualCount;
+        companyCount += other.companyCount;
+        individualsUnder20 += other.individualsUnder20;
+        int listed = Math.min(other.individualNames.size(), nameLimit - individualNames.size());
+        individualNames.addAll(other.individualNames.subList(0, listed));
+        unlistedNames += other.individualNames.size() - listed + other.unlistedNames;
+        for (int i = 0; i < aggregates.size(); i++) {
+            aggregates.get(i).merge(other.aggregates.get(i));
+        }
+    }
+
+    public EmployeeSummary empty() {
+        EmployeeSummary summary = new EmployeeSummary().limitNames(nameLimit);
+        for (EmployeeAggregate aggregate : aggregates) {
+            summary.register(aggregate.empty());
+        }
+        return summary;
+    }
+
+    public void print(PrintStream out) {
+        out.println("Total employees: " + employeeCount);
+        out.println("Total individuals: " + individualCount);
+        out.println("Total companies: " + companyCount);
+        out.println("Total individuals under 20: " + individualsUnder20);
+
+        out.println("Names and surnames of employees:");
+        for (String name : individualNames) {
+            out.println(name);
+        }
+        if (unlistedNames > 0) {
+            out.println("... and " + unlistedNames + " more");
+        }
+
+        for (EmployeeAggregate aggregate : aggregates) {
+            aggregate.print(out);
+        }
+    }
+
+    public long getEmployeeCount() {
+        return employeeCount;
+    }
+
+    public long getIndividualCount() {
+        return individualCount;
+    }
+
+    public long getCompanyCount() {
+        return companyCount;
+    }
+
+    public long getIndividualsUnder20() {
+        return individualsUnder20;
+    }
+
+    public List<String> getIndividualNames() {
+        return individualNames;
+    }
+
+    public long getUnlistedNames() {
+        return unlistedNames;
+    }
+
+    private void addName(String firstName, String lastName) {
+        if (individualNames.size() < nameLimit) {
+            individualNames.add(firstName + " " + lastName);
+        } else {
+            unlistedNames++;
+        }
+    }
+}
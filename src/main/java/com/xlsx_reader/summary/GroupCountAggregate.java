@@ -0,0 +1,70 @@
+package com.xlsx_reader.summary;
+
+import com.xlsx_reader.domain.Company;
+import com.xlsx_reader.domain.CompanyType;
+import com.xlsx_reader.domain.Employee;
+import com.xlsx_reader.domain.Individual;
+
+import java.io.PrintStream;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Function;
+
+public class GroupCountAggregate<K extends Comparable<K>> implements EmployeeAggregate {
+    private final String title;
+    private final Function<Employee, K> classifier;
+    private final Map<K, long[]> counts = new TreeMap<>();
+
+    public GroupCountAggregate(String title, Function<Employee, K> classifier) {
+        this.title = title;
+        this.classifier = classifier;
+    }
+
+    public static GroupCountAggregate<CompanyType> byCompanyType() {
+        return new GroupCountAggregate<>("Companies by type",
+                e -> e instanceof Company company ? company.getType() : null);
+    }
+
+    public static GroupCountAggregate<Boolean> byHasChildren() {
+        return new GroupCountAggregate<>("Individuals by has children",
+                e -> e instanceof Individual individual ? individual.isHasChildren() : null);
+    }
+
+    public static GroupCountAggregate<Integer> byAgeBucket(int bucketSize) {
+        if (bucketSize <= 0)
+            throw new IllegalArgumentException("Bucket size must be positive: " + bucketSize);
+        return new GroupCountAggregate<>("Individuals by age (buckets of " + bucketSize + ")",
+                e -> e instanceof Individual individual ? individual.getAge() / bucketSize * bucketSize : null);
+    }
+
+    @Override
+    public void accept(Employee employee) {
+        K key = classifier.apply(employee);
+        if (key != null) {
+            counts.computeIfAbsent(key, k -> new long[1])[0]++;
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void merge(EmployeeAggregate other) {
+        GroupCountAggregate<K> that = (GroupCountAggregate<K>) other;
+        that.counts.forEach((key, count) -> counts.computeIfAbsent(key, k -> new long[1])[0] += count[0]);
+    }
+
+    @Override
+    public GroupCountAggregate<K> empty() {
+        return new GroupCountAggregate<>(title, classifier);
+    }
+
+    @Override
+    public void print(PrintStream out) {
+        out.println(title + ":");
+        counts.forEach((key, count) -> out.println("  " + key + ": " + count[0]));
+    }
+
+    public long getCount(K key) {
+        long[] count = counts.get(key);
+        return count == null ? 0 : count[0];
+    }
+}
@@ -0,0 +1,83 @@
+package com.xlsx_reader.batch;
+
+import com.xlsx_reader.exception.ExcelParsingException;
+import com.xlsx_reader.service.ReadMode;
+import com.xlsx_reader.service.SyntheticWorkbook;
+import com.xlsx_reader.service.XlsxReaderService;
+import com.xlsx_reader.summary.EmployeeSummary;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BatchReaderServiceTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    public void testBatch_MergesSummariesAndCollectsFailures() throws Exception {
+        writeCompanies(tempDir.resolve("a.xlsx"), 2);
+        writeCompanies(tempDir.resolve("b.xlsx"), 3);
+        Files.writeString(tempDir.resolve("broken.xlsx"), "not a workbook");
+        Files.writeString(tempDir.resolve("notes.txt"), "ignored");
+
+        List<Path> files = BatchFiles.resolve(tempDir.toString());
+        assertEquals(3, files.size());
+
+        ExecutorService executor = BatchReaderService.newFixedPool(2);
+        try {
+            BatchResult result = new BatchReaderService(new XlsxReaderService(ReadMode.STREAMING), executor, 1)
+                    .read(files, new EmployeeSummary());
+
+            assertEquals(5, result.getSummary().getEmployeeCount());
+            assertEquals(5, result.getSummary().getCompanyCount());
+            assertEquals(1, result.getFailures().size());
+            assertEquals(tempDir.resolve("broken.xlsx"), result.getFailures().get(0).getFile());
+            assertTrue(result.getFailures().get(0).getCause() instanceof ExcelParsingException);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void testBatch_MergedNamesStayWithinTheLimit() throws Exception {
+        for (String name : List.of("a", "b", "c", "d")) {
+            new SyntheticWorkbook(50).individualRatio(1).write(tempDir.resolve(name + ".xlsx"));
+        }
+
+        ExecutorService executor = BatchReaderService.newFixedPool(4);
+        try {
+            BatchResult result = new BatchReaderService(new XlsxReaderService(ReadMode.STREAMING), executor, 4)
+                    .read(BatchFiles.resolve(tempDir.toString()), new EmployeeSummary().limitNames(60));
+
+            assertEquals(200, result.getSummary().getIndividualCount());
+            assertEquals(60, result.getSummary().getIndividualNames().size());
+            assertEquals(140, result.getSummary().getUnlistedNames());
+            assertEquals("First0 Last0", result.getSummary().getIndividualNames().get(50));
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void testResolve_Glob() throws Exception {
+        Files.createDirectory(tempDir.resolve("in"));
+        writeCompanies(tempDir.resolve("in/a.xlsx"), 1);
+        writeCompanies(tempDir.resolve("in/b.xlsx"), 1);
+        writeCompanies(tempDir.resolve("other.xlsx"), 1);
+
+        List<Path> files = BatchFiles.resolve(tempDir + "/in/*.xlsx");
+
+        assertEquals(List.of(tempDir.resolve("in/a.xlsx"), tempDir.resolve("in/b.xlsx")), files);
+    }
+
+    private static void writeCompanies(Path path, int count) throws Exception {
+        new SyntheticWorkbook(count).individualRatio(0).write(path);
+    }
+}
@@ -0,0 +1,107 @@
+package com.xlsx_reader.cache;
+
+import com.xlsx_reader.domain.Company;
+import com.xlsx_reader.domain.Employee;
+import com.xlsx_reader.domain.Individual;
+import com.xlsx_reader.exception.ExcelParsingException;
+import com.xlsx_reader.service.EmployeeField;
+import com.xlsx_reader.service.EmployeeValidator;
+import com.xlsx_reader.service.ReadMode;
+import com.xlsx_reader.service.SyntheticWorkbook;
+import com.xlsx_reader.service.XlsxReaderService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ParseCacheTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    public void testCache_HitsAndInvalidatesOnChange() throws Exception {
+        Path file = tempDir.resolve("employees.xlsx");
+        write(file, 5);
+        ParseCache cache = new ParseCache(new XlsxReaderService(ReadMode.STREAMING), tempDir.resolve("cache"), 1 << 20);
+
+        List<Employee> parsed = cache.readEmployees(file.toString());
+        List<Employee> cached = cache.readEmployees(file.toString());
+
+        assertEquals(1, cache.getMisses());
+        assertEquals(1, cache.getHits());
+        assertEquals(parsed.size(), cached.size());
+        for (int i = 0; i < parsed.size(); i++) {
+            assertSameEmployee(parsed.get(i), cached.get(i));
+        }
+        assertTrue(cached.get(2) instanceof Individual);
+        assertEquals("Société 0", ((Company) cached.get(0)).getName());
+
+        write(file, 7);
+        assertEquals(7, cache.readEmployees(file.toString()).size());
+        assertEquals(2, cache.getMisses());
+    }
+
+    @Test
+    public void testCache_KeyedByValidator() throws Exception {
+        Path file = tempDir.resolve("employees.xlsx");
+        write(file, 3);
+        XlsxReaderService reader = new XlsxReaderService(ReadMode.STREAMING);
+        ParseCache cache = new ParseCache(reader, tempDir.resolve("cache"), 1 << 20);
+        assertEquals(3, cache.readEmployees(file.toString()).size());
+
+        reader.setValidator(EmployeeValidator.standard());
+        ExcelParsingException e = assertThrows(ExcelParsingException.class, () -> {
+            cache.readEmployees(file.toString());
+        });
+        assertTrue(e.getMessage().contains("Invalid IBAN on row: 3"));
+
+        reader.setValidator(EmployeeValidator.standard().skip(EmployeeField.IBAN, EmployeeField.BIC));
+        assertEquals(3, cache.readEmployees(file.toString()).size());
+        assertEquals(3, cache.getMisses());
+        assertEquals(3, cache.readEmployees(file.toString()).size());
+        assertEquals(1, cache.getHits());
+    }
+
+    @Test
+    public void testCache_EvictsLeastRecentlyUsed() throws Exception {
+        Path cacheDir = tempDir.resolve("cache");
+        ParseCache cache = new ParseCache(new XlsxReaderService(ReadMode.STREAMING), cacheDir, 1);
+
+        for (int i = 1; i <= 3; i++) {
+            Path file = tempDir.resolve("employees" + i + ".xlsx");
+            write(file, i);
+            cache.readEmployees(file.toString());
+        }
+
+        try (Stream<Path> snapshots = Files.list(cacheDir)) {
+            assertEquals(0, snapshots.count());
+        }
+    }
+
+    private static void write(Path path, int count) throws Exception {
+        new SyntheticWorkbook(count).companyName("Société").write(path);
+    }
+
+    private static void assertSameEmployee(Employee expected, Employee actual) {
+        assertEquals(expected.getClass(), actual.getClass());
+        assertEquals(expected.getId(), actual.getId());
+        assertEquals(expected.getEmail(), actual.getEmail());
+        assertEquals(expected.getPhone(), actual.getPhone());
+        assertEquals(expected.getBankAccount().getIban(), actual.getBankAccount().getIban());
+        assertEquals(expected.getBankAccount().getAccountHolder(), actual.getBankAccount().getAccountHolder());
+        if (expected instanceof Individual individual) {
+            assertEquals(individual.getFirstName(), ((Individual) actual).getFirstName());
+            assertEquals(individual.getAge(), ((Individual) actual).getAge());
+            assertEquals(individual.isHasChildren(), ((Individual) actual).isHasChildren());
+        } else {
+            assertEquals(((Company) expected).getName(), ((Company) actual).getName());
+            assertEquals(((Company) expected).getType(), ((Company) actual).getType());
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.xlsx_reader.daemon;
+
+import com.xlsx_reader.export.ExportFormat;
+import com.xlsx_reader.service.ReadMode;
+import com.xlsx_reader.service.SyntheticWorkbook;
+import com.xlsx_reader.service.XlsxReaderService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class InboxDaemonTest {
+
+    private static final long TIMEOUT_MILLIS = 10_000;
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    public void testDaemon_ProcessesExistingAndNewFiles() throws Exception {
+        Path inbox = Files.createDirectory(tempDir.resolve("inbox"));
+        Path outbox = tempDir.resolve("outbox");
+        write(inbox.resolve("existing.xlsx"), 2);
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        InboxDaemon daemon = new InboxDaemon(new XlsxReaderService(ReadMode.STREAMING), inbox, outbox, executor);
+        daemon.setExportFormat(ExportFormat.CSV);
+        daemon.setLog(new PrintStream(OutputStream.nullOutputStream()));
+        Thread thread = new Thread(() -> {
+            try {
+                daemon.run();
+            } catch (Exception e) {
+                throw new RuntimeException(e);
+            }
+        });
+        thread.start();
+        try {
+            awaitFile(outbox.resolve("existing.xlsx.summary.txt"));
+
+            // files are written elsewhere and moved in once complete
+            write(tempDir.resolve("new.xlsx"), 3);
+            Files.move(tempDir.resolve("new.xlsx"), inbox.resolve("new.xlsx"), StandardCopyOption.ATOMIC_MOVE);
+            Files.writeString(tempDir.resolve("broken.xlsx"), "not a workbook");
+            Files.move(tempDir.resolve("broken.xlsx"), inbox.resolve("broken.xlsx"), StandardCopyOption.ATOMIC_MOVE);
+
+            awaitFile(outbox.resolve("new.xlsx.summary.txt"));
+            awaitFile(outbox.resolve(InboxDaemon.FAILED_DIRECTORY).resolve("broken.xlsx"));
+        } finally {
+            daemon.close();
+            thread.join(TIMEOUT_MILLIS);
+            executor.shutdown();
+            executor.awaitTermination(TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+        }
+
+        assertFalse(thread.isAlive());
+        assertTrue(Files.readString(outbox.resolve("new.xlsx.summary.txt")).contains("Total employees: 3"));
+        assertEquals(4, Files.readAllLines(outbox.resolve("new.xlsx.csv")).size());
+        assertTrue(Files.exists(outbox.resolve(InboxDaemon.PROCESSED_DIRECTORY).resolve("existing.xlsx")));
+        assertTrue(Files.readString(outbox.resolve(InboxDaemon.FAILED_DIRECTORY).resolve("broken.xlsx.error.txt"))
+                .startsWith("Error reading Excel file"));
+        assertFalse(Files.exists(outbox.resolve("broken.xlsx.csv")));
+        assertFalse(Files.exists(outbox.resolve(".broken.xlsx.csv.tmp")));
+        assertFalse(Files.exists(outbox.resolve(".new.xlsx.csv.tmp")));
+        assertEquals(2, daemon.getFilesProcessed());
+        assertEquals(1, daemon.getFilesFailed());
+        try (var left = Files.list(inbox)) {
+            assertEquals(0, left.count());
+        }
+    }
+
+    private static void awaitFile(Path file) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + TIMEOUT_MILLIS;
+        while (!Files.exists(file)) {
+            assertTrue(System.currentTimeMillis() < deadline, "Timed out waiting for " + file);
+            Thread.sleep(20);
+        }
+    }
+
+    private static void write(Path path, int count) throws Exception {
+        new SyntheticWorkbook(count).individualRatio(0).write(path);
+    }
+}
@@ -0,0 +1,132 @@
+package com.xlsx_reader.export;
+
+import com.xlsx_reader.domain.BankAccount;
+import com.xlsx_reader.domain.Company;
+import com.xlsx_reader.domain.CompanyType;
+import com.xlsx_reader.domain.Employee;
+import com.xlsx_reader.domain.Individual;
+import com.xlsx_reader.service.EmployeeField;
+import com.xlsx_reader.service.EmployeeQuery;
+import com.xlsx_reader.service.ReadMode;
+import com.xlsx_reader.service.SyntheticWorkbook;
+import com.xlsx_reader.service.XlsxReaderService;
+import com.xlsx_reader.store.EmployeeStore;
+import com.xlsx_reader.store.EmployeeStoreCodec;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class EmployeeSinkTest {
+
+    @TempDir
+    Path tempDir;
+
+    private static final Individual INDIVIDUAL = new Individual(1, "a@b.lu", "123", "Rue \"Neuve\", 5",
+            new BankAccount("LU28 0019 4006 4475 0000", "BCEELULL", "Zoë"), "Illia", "Beliaev", true, 30);
+    private static final Company COMPANY = new Company(2, "c@d.lu", "456", "line\nbreak",
+            null, "Acme", CompanyType.SARL);
+
+    @Test
+    public void testCsvSink_QuotesOnlyWhenNeeded() throws Exception {
+        Path file = tempDir.resolve("out.csv");
+        export(file, List.of(INDIVIDUAL, COMPANY));
+
+        String csv = Files.readString(file, StandardCharsets.UTF_8);
+        String[] lines = csv.split("\n", 2);
+        assertTrue(lines[0].startsWith("type,id,email"));
+        assertEquals("individual,1,a@b.lu,123,\"Rue \"\"Neuve\"\", 5\",Illia,Beliaev,true,30,,,"
+                + "LU28 0019 4006 4475 0000,BCEELULL,Zoë\n"
+                + "company,2,c@d.lu,456,\"line\nbreak\",,,,,Acme,SARL,,,\n", lines[1]);
+    }
+
+    @Test
+    public void testJsonLinesSink_EscapesStrings() throws Exception {
+        Path file = tempDir.resolve("out.jsonl");
+        EmployeeSink sink = export(file, List.of(INDIVIDUAL, COMPANY));
+
+        List<String> lines = Files.readAllLines(file, StandardCharsets.UTF_8);
+        assertEquals(2, lines.size());
+        assertEquals("{\"type\":\"individual\",\"id\":1,\"email\":\"a@b.lu\",\"phone\":\"123\","
+                + "\"address\":\"Rue \\\"Neuve\\\", 5\",\"firstName\":\"Illia\",\"lastName\":\"Beliaev\","
+                + "\"hasChildren\":true,\"age\":30,\"bankAccount\":{\"iban\":\"LU28 0019 4006 4475 0000\","
+                + "\"bic\":\"BCEELULL\",\"accountHolder\":\"Zoë\"}}", lines.get(0));
+        assertEquals("{\"type\":\"company\",\"id\":2,\"email\":\"c@d.lu\",\"phone\":\"456\","
+                + "\"address\":\"line\\nbreak\",\"name\":\"Acme\",\"companyType\":\"SARL\",\"bankAccount\":null}",
+                lines.get(1));
+        assertEquals(Files.size(file), sink.getBytesWritten());
+    }
+
+    @Test
+    public void testColumnarSink_WritesReadableRowGroups() throws Exception {
+        Path file = tempDir.resolve("out.emp");
+        List<Employee> employees = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            employees.add(new Individual(i, "e" + i, "p", "a", new BankAccount("iban" + i, "bic", "holder"),
+                    "First" + i, "Last", i % 2 == 0, 20 + i));
+        }
+
+        EmployeeSink sink = new ColumnarSink(
+                FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE), 2);
+        try (sink) {
+            employees.forEach(sink);
+        }
+        assertEquals(Files.size(file), sink.getBytesWritten());
+
+        List<EmployeeStore> groups = EmployeeStoreCodec.readAll(file);
+        assertEquals(3, groups.size());
+        List<Employee> read = new ArrayList<>();
+        groups.forEach(group -> read.addAll(group.toList()));
+        assertEquals(5, read.size());
+        for (int i = 0; i < 5; i++) {
+            Individual individual = (Individual) read.get(i);
+            assertEquals(i, individual.getId());
+            assertEquals("First" + i, individual.getFirstName());
+            assertEquals("iban" + i, individual.getBankAccount().getIban());
+        }
+    }
+
+    @Test
+    public void testColumnarSink_ExportsProjectedQuery() throws Exception {
+        Path workbook = tempDir.resolve("employees.xlsx");
+        new SyntheticWorkbook(20).write(workbook);
+        List<Employee> employees = new XlsxReaderService(ReadMode.STREAMING)
+                .query(workbook.toString(), EmployeeQuery.all().fields(EmployeeField.EMAIL));
+
+        Path file = tempDir.resolve("projected.emp");
+        try (EmployeeSink sink = new ColumnarSink(
+                FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE), 8)) {
+            employees.forEach(sink);
+            sink.accept(new Company(99, null, null, null, null, "Untyped", null));
+        }
+
+        List<Employee> read = new ArrayList<>();
+        EmployeeStoreCodec.readAll(file).forEach(group -> read.addAll(group.toList()));
+        assertEquals(21, read.size());
+        for (int i = 0; i < employees.size(); i++) {
+            assertEquals(employees.get(i).getClass(), read.get(i).getClass());
+            assertEquals(employees.get(i).getEmail(), read.get(i).getEmail());
+            assertNull(read.get(i).getBankAccount());
+        }
+        Company untyped = (Company) read.get(20);
+        assertEquals("Untyped", untyped.getName());
+        assertNull(untyped.getType());
+    }
+
+    private static EmployeeSink export(Path file, List<Employee> employees) throws Exception {
+        EmployeeSink sink = ExportFormat.forFile(file).open(file);
+        try (sink) {
+            employees.forEach(sink);
+        }
+        assertEquals(employees.size(), sink.getRowsWritten());
+        return sink;
+    }
+}
@@ -0,0 +1,69 @@
+package com.xlsx_reader.incremental;
+
+import com.xlsx_reader.service.ReadMode;
+import com.xlsx_reader.service.SyntheticWorkbook;
+import com.xlsx_reader.service.Watermark;
+import com.xlsx_reader.service.XlsxReaderService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class IncrementalReaderTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    public void testIncremental_EmitsOnlyAppendedRows() throws Exception {
+        Path file = tempDir.resolve("employees.xlsx");
+
+        for (ReadMode readMode : ReadMode.values()) {
+            IncrementalReader reader = new IncrementalReader(
+                    new XlsxReaderService(readMode), tempDir.resolve("watermarks-" + readMode));
+
+            write(file, 3, "Company");
+            assertEquals(List.of(1L, 2L, 3L), newIds(reader, file));
+
+            Watermark watermark = reader.getWatermark(file.toString());
+            assertEquals(SyntheticWorkbook.HEADER_ROWS + 2, watermark.getRowNum());
+            assertEquals(3, watermark.getId());
+
+            assertEquals(List.of(), newIds(reader, file));
+
+            write(file, 5, "Company");
+            assertEquals(List.of(4L, 5L), newIds(reader, file));
+        }
+    }
+
+    @Test
+    public void testIncremental_ChangedPrefixFallsBackToFullRead() throws Exception {
+        Path file = tempDir.resolve("employees.xlsx");
+        IncrementalReader reader = new IncrementalReader(
+                new XlsxReaderService(ReadMode.STREAMING), tempDir.resolve("watermarks"));
+
+        write(file, 3, "Company");
+        newIds(reader, file);
+
+        write(file, 4, "Renamed");
+        assertEquals(List.of(1L, 2L, 3L, 4L), newIds(reader, file));
+
+        write(file, 2, "Renamed");
+        assertEquals(List.of(1L, 2L), newIds(reader, file));
+        assertEquals(2, reader.getWatermark(file.toString()).getId());
+    }
+
+    private static List<Long> newIds(IncrementalReader reader, Path file) throws Exception {
+        List<Long> ids = new ArrayList<>();
+        reader.forEachNewEmployee(file.toString(), employee -> ids.add(employee.getId()));
+        return ids;
+    }
+
+    private static void write(Path path, int count, String companyName) throws Exception {
+        new SyntheticWorkbook(count).individualRatio(0).companyName(companyName).write(path);
+    }
+}
@@ -0,0 +1,77 @@
+package com.xlsx_reader.index;
+
+import com.xlsx_reader.domain.BankAccount;
+import com.xlsx_reader.domain.Company;
+import com.xlsx_reader.domain.CompanyType;
+import com.xlsx_reader.service.ReadMode;
+import com.xlsx_reader.service.SyntheticWorkbook;
+import com.xlsx_reader.service.XlsxReaderService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class EmployeeIndexTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    public void testIndex_LooksUpManyIds() {
+        EmployeeIndex.Builder builder = new EmployeeIndex.Builder();
+        for (int i = 0; i < 10_000; i++) {
+            // spread ids far apart so they collide in the low bits
+            builder.add(i, company(i * 4096L + 1, "iban" + i, "e" + i % 100));
+        }
+        EmployeeIndex index = builder.build();
+
+        assertEquals(10_000, index.size());
+        assertFalse(index.hasDuplicates());
+        for (int i = 0; i < 10_000; i++) {
+            assertEquals(i * 4096L + 1, index.getById(i * 4096L + 1).getId());
+            assertEquals(i, index.getRowNum(i * 4096L + 1));
+        }
+        assertNull(index.getById(2));
+        assertEquals(-1, index.getRowNum(2));
+        assertEquals(4096L * 42 + 1, index.getByIban("iban42").getId());
+        assertEquals(4096L * 7 + 1, index.getByEmail("e7").getId());
+        assertNull(index.getByEmail("missing"));
+    }
+
+    @Test
+    public void testReadIndexed_ReportsDuplicateIdsAndIbans() throws Exception {
+        Path file = tempDir.resolve("employees.xlsx");
+        new SyntheticWorkbook(4)
+                .individualRatio(0)
+                .ids(1, 2, 1, 3)
+                .ibans("LU01", "LU02", "LU03", "LU02")
+                .write(file);
+
+        for (ReadMode readMode : ReadMode.values()) {
+            EmployeeIndex index = new XlsxReaderService(readMode).readIndexed(file.toString());
+
+            assertEquals(4, index.size());
+            assertEquals("Company 0", ((Company) index.getById(1)).getName());
+            assertEquals(2, index.getByIban("LU02").getId());
+            assertEquals(SyntheticWorkbook.HEADER_ROWS + 3, index.getRowNum(3));
+            assertEquals(3, index.getByEmail("employee3@example.com").getId());
+
+            List<DuplicateKey> duplicates = index.getDuplicates();
+            assertEquals(2, duplicates.size());
+            assertEquals(DuplicateKey.Kind.ID, duplicates.get(0).getKind());
+            assertEquals("1", duplicates.get(0).getKey());
+            assertEquals(SyntheticWorkbook.HEADER_ROWS, duplicates.get(0).getFirstRowNum());
+            assertEquals(SyntheticWorkbook.HEADER_ROWS + 2, duplicates.get(0).getRowNum());
+            assertEquals(DuplicateKey.Kind.IBAN, duplicates.get(1).getKind());
+            assertEquals("duplicate iban LU02 on row 6, first seen on row 4", duplicates.get(1).toString());
+        }
+    }
+
+    private static Company company(long id, String iban, String email) {
+        return new Company(id, email, "phone", "address", new BankAccount(iban, "bic", "holder"),
+                "Company " + id, CompanyType.SARL);
+    }
+}
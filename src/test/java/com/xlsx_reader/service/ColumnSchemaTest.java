@@ -0,0 +1,142 @@
+package com.xlsx_reader.service;
+
+import com.xlsx_reader.domain.Company;
+import com.xlsx_reader.domain.Employee;
+import com.xlsx_reader.domain.Individual;
+import com.xlsx_reader.exception.ExcelParsingException;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ColumnSchemaTest {
+
+    private static final String[] SHIFTED_HEADER = {
+            "ID", "E-mail", "Phone", "Address", "First Name", "Last Name", "Has Children", "Age",
+            "Company Name", "Type", "IBAN", "BIC", "Account Holder" };
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    public void testByHeader_ResolvesShiftedColumnsAndCachesLayout() throws Exception {
+        Path first = writeShifted(tempDir.resolve("first.xlsx"));
+        Path second = writeShifted(tempDir.resolve("second.xlsx"));
+
+        ColumnSchema schema = ColumnSchema.byHeader(Map.of(EmployeeField.EMAIL, "e-mail"), 0);
+        for (ReadMode readMode : ReadMode.values()) {
+            XlsxReaderService reader = new XlsxReaderService(readMode, schema);
+            for (Path file : List.of(first, second)) {
+                List<Employee> employees = reader.readEmployees(file.toString());
+
+                assertEquals(2, employees.size());
+                Individual individual = (Individual) employees.get(0);
+                assertEquals("john@example.com", individual.getEmail());
+                assertEquals(30, individual.getAge());
+                assertEquals("some-bic", individual.getBankAccount().getBic());
+                assertEquals("Company Inc", ((Company) employees.get(1)).getName());
+            }
+        }
+
+        assertEquals(1, schema.cachedLayouts());
+    }
+
+    @Test
+    public void testByHeader_MissingColumn() throws Exception {
+        Path file = writeShifted(tempDir.resolve("shifted.xlsx"));
+
+        ExcelParsingException e = assertThrows(ExcelParsingException.class, () -> {
+            new XlsxReaderService(ReadMode.STREAMING, ColumnSchema.byHeader(0)).readEmployees(file.toString());
+        });
+        assertTrue(e.getMessage().contains("'email'"));
+    }
+
+    @Test
+    public void testLoad_MappingFile() throws Exception {
+        Path file = writeShifted(tempDir.resolve("shifted.xlsx"));
+        Path mapping = tempDir.resolve("columns.properties");
+        Files.writeString(mapping, String.join("\n",
+                "headerRow=0",
+                "firstDataRow=1",
+                "id=A",
+                "email=header:E-mail",
+                "phone=2",
+                "address=D",
+                "first.name=header:first name",
+                "last.name=F",
+                "has.children=G",
+                "age=H",
+                "company.name=I",
+                "company.type=J",
+                "iban=K",
+                "bic=L",
+                "account.holder=M"));
+
+        List<Employee> employees = new XlsxReaderService(ReadMode.DOM, ColumnSchema.load(mapping))
+                .readEmployees(file.toString());
+
+        assertEquals(2, employees.size());
+        assertEquals("John", ((Individual) employees.get(0)).getFirstName());
+        assertEquals("Some Holder", employees.get(1).getBankAccount().getAccountHolder());
+    }
+
+    @Test
+    public void testFieldKeys_IgnoreDefaultLocale() {
+        Locale locale = Locale.getDefault();
+        Locale.setDefault(Locale.forLanguageTag("tr"));
+        try {
+            assertEquals("id", EmployeeField.ID.getKey());
+            assertEquals("bic", EmployeeField.BIC.getKey());
+            assertEquals("has.children", EmployeeField.HAS_CHILDREN.getKey());
+        } finally {
+            Locale.setDefault(locale);
+        }
+    }
+
+    private static Path writeShifted(Path path) throws Exception {
+        try (OutputStream os = Files.newOutputStream(path);
+                Workbook workbook = new XSSFWorkbook()) {
+            Sheet sheet = workbook.createSheet();
+            Row header = sheet.createRow(0);
+            for (int i = 0; i < SHIFTED_HEADER.length; i++) {
+                header.createCell(i).setCellValue(SHIFTED_HEADER[i]);
+            }
+
+            Row individual = sheet.createRow(1);
+            individual.createCell(0).setCellValue(1);
+            individual.createCell(1).setCellValue("john@example.com");
+            individual.createCell(2).setCellValue("1234567890");
+            individual.createCell(3).setCellValue("123 Main St");
+            individual.createCell(4).setCellValue("John");
+            individual.createCell(5).setCellValue("Doe");
+            individual.createCell(6).setCellValue(true);
+            individual.createCell(7).setCellValue(30);
+            individual.createCell(10).setCellValue("some-iban");
+            individual.createCell(11).setCellValue("some-bic");
+            individual.createCell(12).setCellValue("Some Holder");
+
+            Row company = sheet.createRow(2);
+            company.createCell(0).setCellValue(2);
+            company.createCell(1).setCellValue("jane@example.com");
+            company.createCell(8).setCellValue("Company Inc");
+            company.createCell(9).setCellValue("SARS");
+            company.createCell(10).setCellValue("some-iban");
+            company.createCell(11).setCellValue("some-bic");
+            company.createCell(12).setCellValue("Some Holder");
+
+            workbook.write(os);
+        }
+        return path;
+    }
+}
@@ -0,0 +1,160 @@
+package com.xlsx_reader.service;
+
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+
+// writes workbooks of any size in the reader's column layout through SXSSF, so only a window of
+// rows is ever held in memory. Shared by the tests of every package and the JMH benchmarks.
+public final class SyntheticWorkbook {
+    public static final int HEADER_ROWS = XlsxReaderService.HEADER_ROWS_TO_SKIP;
+
+    private static final int ROW_ACCESS_WINDOW = 100;
+    private static final String[] BICS = { "DEUTDEFF", "BNPAFRPP", "COBADEFF", "SOGEFRPP" };
+    private static final int MALFORMED_KINDS = 3;
+
+    private final int rows;
+    private double individualRatio = 0.5;
+    private int malformedEvery;
+    private int blankEvery;
+    private boolean sharedStrings = true;
+    private String companyName = "Company";
+    private long[] ids;
+    private String[] ibans;
+    private int malformedRows;
+
+    public SyntheticWorkbook(int rows) {
+        this.rows = rows;
+    }
+
+    public static Path create(int rows, double individualRatio) throws IOException {
+        Path file = Files.createTempFile("synthetic-" + rows + "-", ".xlsx");
+        write(file, rows, individualRatio);
+        return file;
+    }
+
+    public static void write(Path file, int rows, double individualRatio) throws IOException {
+        new SyntheticWorkbook(rows).individualRatio(individualRatio).write(file);
+    }
+
+    public SyntheticWorkbook individualRatio(double individualRatio) {
+        this.individualRatio = individualRatio;
+        return this;
+    }
+
+    // every nth row gets, in turn, a text age, an unknown company type or no bank account
+    public SyntheticWorkbook malformedEvery(int malformedEvery) {
+        this.malformedEvery = malformedEvery;
+        return this;
+    }
+
+    // every nth row leaves email, phone and address as blank cells
+    public SyntheticWorkbook blankEvery(int blankEvery) {
+        this.blankEvery = blankEvery;
+        return this;
+    }
+
+    // without a shared-strings table every string is written inline in its cell
+    public SyntheticWorkbook sharedStrings(boolean sharedStrings) {
+        this.sharedStrings = sharedStrings;
+        return this;
+    }
+
+    // company names are "<companyName> <n>"
+    public SyntheticWorkbook companyName(String companyName) {
+        this.companyName = companyName;
+        return this;
+    }
+
+    // one id per row instead of 1..rows, e.g. to write duplicates
+    public SyntheticWorkbook ids(long... ids) {
+        if (ids.length != rows)
+            throw new IllegalArgumentException(ids.length + " ids for " + rows + " rows");
+        this.ids = ids;
+        return this;
+    }
+
+    // one IBAN per row instead of generated ones
+    public SyntheticWorkbook ibans(String... ibans) {
+        if (ibans.length != rows)
+            throw new IllegalArgumentException(ibans.length + " ibans for " + rows + " rows");
+        this.ibans = ibans;
+        return this;
+    }
+
+    // the number of malformed rows written by the last write()
+    public int getMalformedRows() {
+        return malformedRows;
+    }
+
+    public Path create() throws IOException {
+        Path file = Files.createTempFile("synthetic-" + rows + "-", ".xlsx");
+        write(file);
+        return file;
+    }
+
+    public void write(Path file) throws IOException {
+        Random random = new Random(rows);
+        malformedRows = 0;
+        SXSSFWorkbook workbook = new SXSSFWorkbook(null, ROW_ACCESS_WINDOW, true, sharedStrings);
+        try (OutputStream os = Files.newOutputStream(file)) {
+            Sheet sheet = workbook.createSheet();
+            for (int i = 0; i < HEADER_ROWS; i++) {
+                sheet.createRow(i).createCell(0).setCellValue("header");
+            }
+
+            for (int i = 0; i < rows; i++) {
+                Row row = sheet.createRow(HEADER_ROWS + i);
+                boolean malformed = malformedEvery > 0 && (i + 1) % malformedEvery == 0;
+                int malformedKind = malformed ? malformedRows++ % MALFORMED_KINDS : -1;
+
+                row.createCell(XlsxReaderService.ID_COL).setCellValue(ids != null ? ids[i] : i + 1);
+                if (blankEvery > 0 && (i + 1) % blankEvery == 0) {
+                    row.createCell(XlsxReaderService.EMAIL_COL).setBlank();
+                    row.createCell(XlsxReaderService.PHONE_COL).setBlank();
+                    row.createCell(XlsxReaderService.ADDRESS_COL).setBlank();
+                } else {
+                    row.createCell(XlsxReaderService.EMAIL_COL).setCellValue("employee" + i + "@example.com");
+                    row.createCell(XlsxReaderService.PHONE_COL).setCellValue(33_600_000_000L + i);
+                    row.createCell(XlsxReaderService.ADDRESS_COL).setCellValue((i % 500) + " Main St");
+                }
+
+                boolean individual = random.nextDouble() < individualRatio;
+                if (malformedKind == 0 || malformedKind == 1)
+                    individual = malformedKind == 0;
+                if (individual) {
+                    row.createCell(XlsxReaderService.FIRST_NAME_COL).setCellValue("First" + (i % 1000));
+                    row.createCell(XlsxReaderService.LAST_NAME_COL).setCellValue("Last" + (i % 2000));
+                    row.createCell(XlsxReaderService.HAS_CHILDREN_COL).setCellValue(random.nextBoolean());
+                    if (malformedKind == 0) {
+                        row.createCell(XlsxReaderService.AGE_COL).setCellValue("unknown");
+                    } else {
+                        row.createCell(XlsxReaderService.AGE_COL).setCellValue(16 + random.nextInt(60));
+                    }
+                } else {
+                    row.createCell(XlsxReaderService.COMPANY_NAME_COL).setCellValue(companyName + " " + (i % 3000));
+                    String type = random.nextBoolean() ? "SARS" : "SARL";
+                    row.createCell(XlsxReaderService.COMPANY_TYPE_COL).setCellValue(malformedKind == 1 ? "LLC" : type);
+                }
+
+                if (malformedKind != 2) {
+                    String bic = BICS[i % BICS.length];
+                    row.createCell(XlsxReaderService.IBAN_COL).setCellValue(ibans != null ? ibans[i] : "FR76" + (10_000_000_000L + i));
+                    row.createCell(XlsxReaderService.BIC_COL).setCellValue(bic);
+                    row.createCell(XlsxReaderService.ACCOUNT_HOLDER_COL).setCellValue("Holder " + (i % 1000));
+                }
+            }
+
+            workbook.write(os);
+        } finally {
+            workbook.dispose();
+            workbook.close();
+        }
+    }
+}
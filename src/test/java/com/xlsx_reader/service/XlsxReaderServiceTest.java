@@ -3,17 +3,31 @@ package com.xlsx_reader.service;
 import com.xlsx_reader.domain.Employee;
 import com.xlsx_reader.domain.Individual;
 import com.xlsx_reader.domain.Company;
+import com.xlsx_reader.domain.CompanyType;
 import com.xlsx_reader.exception.ExcelParsingException;
+import com.xlsx_reader.exception.UncheckedExcelParsingException;
 import org.apache.poi.ss.usermodel.*;
 import org.apache.poi.xssf.usermodel.XSSFWorkbook;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
 
 import java.io.File;
+import java.io.FileInputStream;
 import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.SeekableByteChannel;
 import java.nio.file.Files;
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -151,4 +165,719 @@ public class XlsxReaderServiceTest {
         assertEquals(1, employees.size());
         assertTrue(employees.get(0) instanceof Individual);
     }
+
+    @Test
+    public void testReadEmployees_StreamingMatchesDom() throws Exception {
+        tempFile = File.createTempFile("testStreamingMatchesDom", ".xlsx");
+        try (FileOutputStream fos = new FileOutputStream(tempFile);
+                Workbook workbook = new XSSFWorkbook()) {
+            Sheet sheet = workbook.createSheet();
+
+            for (int i = 0; i < XlsxReaderService.HEADER_ROWS_TO_SKIP; i++) {
+                sheet.createRow(i);
+            }
+
+            Row individualRow = sheet.createRow(XlsxReaderService.HEADER_ROWS_TO_SKIP);
+            individualRow.createCell(XlsxReaderService.ID_COL).setCellValue(1);
+            individualRow.createCell(XlsxReaderService.EMAIL_COL).setCellValue("john@example.com");
+            individualRow.createCell(XlsxReaderService.PHONE_COL).setCellValue(1234567890);
+            individualRow.createCell(XlsxReaderService.ADDRESS_COL).setCellValue("123 Main St");
+            individualRow.createCell(XlsxReaderService.FIRST_NAME_COL).setCellValue("John");
+            individualRow.createCell(XlsxReaderService.LAST_NAME_COL).setCellValue("Doe");
+            individualRow.createCell(XlsxReaderService.HAS_CHILDREN_COL).setCellValue(true);
+            individualRow.createCell(XlsxReaderService.AGE_COL).setCellValue(19);
+            individualRow.createCell(XlsxReaderService.IBAN_COL).setCellValue("some-iban");
+            individualRow.createCell(XlsxReaderService.BIC_COL).setCellValue("some-bic");
+            individualRow.createCell(XlsxReaderService.ACCOUNT_HOLDER_COL).setCellValue("Some Holder");
+
+            Row companyRow = sheet.createRow(XlsxReaderService.HEADER_ROWS_TO_SKIP + 1);
+            companyRow.createCell(XlsxReaderService.ID_COL).setCellValue(2);
+            companyRow.createCell(XlsxReaderService.EMAIL_COL).setCellValue("jane@example.com");
+            companyRow.createCell(XlsxReaderService.PHONE_COL).setCellValue("0987654321");
+            companyRow.createCell(XlsxReaderService.ADDRESS_COL).setCellValue("456 Elm St");
+            companyRow.createCell(XlsxReaderService.COMPANY_NAME_COL).setCellValue("Company Inc");
+            companyRow.createCell(XlsxReaderService.COMPANY_TYPE_COL).setCellValue("SARL");
+            companyRow.createCell(XlsxReaderService.IBAN_COL).setCellValue("some-iban");
+            companyRow.createCell(XlsxReaderService.BIC_COL).setCellValue("some-bic");
+            companyRow.createCell(XlsxReaderService.ACCOUNT_HOLDER_COL).setCellValue("Some Holder");
+
+            Row terminatorRow = sheet.createRow(XlsxReaderService.HEADER_ROWS_TO_SKIP + 2);
+            terminatorRow.createCell(XlsxReaderService.ID_COL).setCellValue(0);
+
+            Row ignoredRow = sheet.createRow(XlsxReaderService.HEADER_ROWS_TO_SKIP + 3);
+            ignoredRow.createCell(XlsxReaderService.ID_COL).setCellValue(3);
+
+            workbook.write(fos);
+        }
+
+        List<Employee> employees = new XlsxReaderService(ReadMode.STREAMING)
+                .readEmployees(tempFile.getAbsolutePath());
+
+        assertEquals(2, employees.size());
+        Individual individual = (Individual) employees.get(0);
+        assertEquals(1, individual.getId());
+        assertEquals("1234567890", individual.getPhone());
+        assertEquals("John", individual.getFirstName());
+        assertTrue(individual.isHasChildren());
+        assertEquals(19, individual.getAge());
+        assertEquals("Some Holder", individual.getBankAccount().getAccountHolder());
+        Company company = (Company) employees.get(1);
+        assertEquals("Company Inc", company.getName());
+        assertEquals(CompanyType.SARL, company.getType());
+    }
+
+    @Test
+    public void testReadEmployees_StreamingInvalidData_MissingFirstName() throws Exception {
+        tempFile = File.createTempFile("testStreamingInvalidMissingFirstName", ".xlsx");
+        try (FileOutputStream fos = new FileOutputStream(tempFile);
+                Workbook workbook = new XSSFWorkbook()) {
+            Sheet sheet = workbook.createSheet();
+
+            for (int i = 0; i < XlsxReaderService.HEADER_ROWS_TO_SKIP; i++) {
+                sheet.createRow(i);
+            }
+
+            Row row = sheet.createRow(XlsxReaderService.HEADER_ROWS_TO_SKIP);
+            row.createCell(XlsxReaderService.ID_COL).setCellValue(1);
+            row.createCell(XlsxReaderService.LAST_NAME_COL).setCellValue("Doe");
+            row.createCell(XlsxReaderService.AGE_COL).setCellValue(30);
+
+            workbook.write(fos);
+        }
+
+        ExcelParsingException e = assertThrows(ExcelParsingException.class, () -> {
+            new XlsxReaderService(ReadMode.STREAMING).readEmployees(tempFile.getAbsolutePath());
+        });
+        assertTrue(e.getMessage().contains("row: " + XlsxReaderService.HEADER_ROWS_TO_SKIP));
+    }
+
+    @Test
+    public void testStreamEmployees_LazyAndClosed() throws Exception {
+        tempFile = File.createTempFile("testStreamEmployees", ".xlsx");
+        try (FileOutputStream fos = new FileOutputStream(tempFile);
+                Workbook workbook = new XSSFWorkbook()) {
+            Sheet sheet = workbook.createSheet();
+
+            for (int i = 0; i < XlsxReaderService.HEADER_ROWS_TO_SKIP; i++) {
+                sheet.createRow(i);
+            }
+
+            for (int i = 0; i < 3; i++) {
+                Row row = sheet.createRow(XlsxReaderService.HEADER_ROWS_TO_SKIP + i);
+                row.createCell(XlsxReaderService.ID_COL).setCellValue(i + 1);
+                row.createCell(XlsxReaderService.COMPANY_NAME_COL).setCellValue("Company " + i);
+                row.createCell(XlsxReaderService.COMPANY_TYPE_COL).setCellValue("SARS");
+                row.createCell(XlsxReaderService.IBAN_COL).setCellValue("some-iban");
+                row.createCell(XlsxReaderService.BIC_COL).setCellValue("some-bic");
+                row.createCell(XlsxReaderService.ACCOUNT_HOLDER_COL).setCellValue("Some Holder");
+            }
+
+            Row invalidRow = sheet.createRow(XlsxReaderService.HEADER_ROWS_TO_SKIP + 3);
+            invalidRow.createCell(XlsxReaderService.ID_COL).setCellValue(4);
+
+            workbook.write(fos);
+        }
+
+        for (ReadMode readMode : ReadMode.values()) {
+            XlsxReaderService reader = new XlsxReaderService(readMode);
+
+            try (Stream<Employee> employees = reader.streamEmployees(tempFile.getAbsolutePath())) {
+                List<Long> ids = employees.limit(2).map(Employee::getId).toList();
+                assertEquals(List.of(1L, 2L), ids);
+            }
+
+            try (EmployeeIterator employees = reader.iterateEmployees(tempFile.getAbsolutePath())) {
+                for (int i = 0; i < 3; i++) {
+                    assertTrue(employees.hasNext());
+                    employees.next();
+                }
+                assertThrows(UncheckedExcelParsingException.class, employees::hasNext);
+            }
+        }
+    }
+
+    @Test
+    public void testReadEmployeesParallel_KeepsOrderAndRowNumbers() throws Exception {
+        tempFile = File.createTempFile("testReadEmployeesParallel", ".xlsx");
+        try (FileOutputStream fos = new FileOutputStream(tempFile);
+                Workbook workbook = new XSSFWorkbook()) {
+            Sheet sheet = workbook.createSheet();
+
+            for (int i = 0; i < XlsxReaderService.HEADER_ROWS_TO_SKIP; i++) {
+                sheet.createRow(i);
+            }
+
+            for (int i = 0; i < 50; i++) {
+                Row row = sheet.createRow(XlsxReaderService.HEADER_ROWS_TO_SKIP + i);
+                row.createCell(XlsxReaderService.ID_COL).setCellValue(i + 1);
+                row.createCell(XlsxReaderService.COMPANY_NAME_COL).setCellValue("Company " + i);
+                row.createCell(XlsxReaderService.COMPANY_TYPE_COL).setCellValue(i == 40 ? "LLC" : "SARS");
+                row.createCell(XlsxReaderService.IBAN_COL).setCellValue("some-iban");
+                row.createCell(XlsxReaderService.BIC_COL).setCellValue("some-bic");
+                row.createCell(XlsxReaderService.ACCOUNT_HOLDER_COL).setCellValue("Some Holder");
+            }
+
+            workbook.write(fos);
+        }
+
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            for (ReadMode readMode : ReadMode.values()) {
+                XlsxReaderService reader = new XlsxReaderService(readMode);
+
+                List<Long> ids = new ArrayList<>();
+                ExcelParsingException e = assertThrows(ExcelParsingException.class, () -> {
+                    reader.forEachEmployeeParallel(tempFile.getAbsolutePath(), pool, 3, employee -> ids.add(employee.getId()));
+                });
+
+                assertTrue(e.getMessage().contains("row: " + (XlsxReaderService.HEADER_ROWS_TO_SKIP + 40)));
+                for (int i = 0; i < ids.size(); i++) {
+                    assertEquals(i + 1, ids.get(i));
+                }
+                assertTrue(ids.size() <= 40);
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void testReadEmployees_StringPoolSharesRepeatedValues() throws Exception {
+        tempFile = File.createTempFile("testStringPool", ".xlsx");
+        try (FileOutputStream fos = new FileOutputStream(tempFile);
+                Workbook workbook = new XSSFWorkbook()) {
+            Sheet sheet = workbook.createSheet();
+
+            for (int i = 0; i < XlsxReaderService.HEADER_ROWS_TO_SKIP; i++) {
+                sheet.createRow(i);
+            }
+
+            for (int i = 0; i < 10; i++) {
+                Row row = sheet.createRow(XlsxReaderService.HEADER_ROWS_TO_SKIP + i);
+                row.createCell(XlsxReaderService.ID_COL).setCellValue(i + 1);
+                row.createCell(XlsxReaderService.PHONE_COL).setCellValue(1234567890);
+                row.createCell(XlsxReaderService.COMPANY_NAME_COL).setCellValue("Company Inc");
+                row.createCell(XlsxReaderService.COMPANY_TYPE_COL).setCellValue("SARS");
+                row.createCell(XlsxReaderService.IBAN_COL).setCellValue("iban-" + i);
+                row.createCell(XlsxReaderService.BIC_COL).setCellValue("some-bic");
+                row.createCell(XlsxReaderService.ACCOUNT_HOLDER_COL).setCellValue("Some Holder");
+            }
+
+            workbook.write(fos);
+        }
+
+        for (ReadMode readMode : ReadMode.values()) {
+            XlsxReaderService reader = new XlsxReaderService(readMode);
+            reader.setStringPoolSize(1024);
+
+            List<Employee> employees = reader.readEmployees(tempFile.getAbsolutePath());
+
+            assertEquals(10, employees.size());
+            Company first = (Company) employees.get(0);
+            Company last = (Company) employees.get(9);
+            assertSame(first.getPhone(), last.getPhone());
+            assertSame(first.getName(), last.getName());
+            assertSame(first.getBankAccount().getBic(), last.getBankAccount().getBic());
+            // phone, company name, BIC and account holder are pooled per row; the address is empty
+            assertEquals(40, reader.getStringPoolStats().getLookups());
+            assertEquals(36, reader.getStringPoolStats().getHits());
+        }
+    }
+
+    @Test
+    public void testReadEmployees_FromChannelBufferAndStream() throws Exception {
+        tempFile = File.createTempFile("testWorkbookSource", ".xlsx");
+        try (FileOutputStream fos = new FileOutputStream(tempFile);
+                Workbook workbook = new XSSFWorkbook()) {
+            Sheet sheet = workbook.createSheet();
+
+            for (int i = 0; i < XlsxReaderService.HEADER_ROWS_TO_SKIP; i++) {
+                sheet.createRow(i);
+            }
+
+            for (int i = 0; i < 5; i++) {
+                Row row = sheet.createRow(XlsxReaderService.HEADER_ROWS_TO_SKIP + i);
+                row.createCell(XlsxReaderService.ID_COL).setCellValue(i + 1);
+                row.createCell(XlsxReaderService.COMPANY_NAME_COL).setCellValue("Company " + i);
+                row.createCell(XlsxReaderService.COMPANY_TYPE_COL).setCellValue("SARS");
+                row.createCell(XlsxReaderService.IBAN_COL).setCellValue("some-iban");
+                row.createCell(XlsxReaderService.BIC_COL).setCellValue("some-bic");
+                row.createCell(XlsxReaderService.ACCOUNT_HOLDER_COL).setCellValue("Some Holder");
+            }
+
+            workbook.write(fos);
+        }
+
+        for (ReadMode readMode : ReadMode.values()) {
+            XlsxReaderService reader = new XlsxReaderService(readMode);
+
+            List<Employee> expected = reader.readEmployees(tempFile.getAbsolutePath());
+            assertEquals(5, expected.size());
+
+            SeekableByteChannel channel = Files.newByteChannel(tempFile.toPath());
+            assertEquals(expected.size(), reader.readEmployees(WorkbookSource.of(channel)).size());
+            assertFalse(channel.isOpen());
+
+            try (FileChannel file = FileChannel.open(tempFile.toPath())) {
+                MappedByteBuffer buffer = file.map(FileChannel.MapMode.READ_ONLY, 0, file.size());
+                List<Employee> mapped = reader.readEmployees(WorkbookSource.of(buffer));
+                assertEquals(expected.size(), mapped.size());
+                assertEquals("Company 4", ((Company) mapped.get(4)).getName());
+            }
+
+            try (InputStream stream = new FileInputStream(tempFile)) {
+                assertEquals(expected.size(), reader.readEmployees(WorkbookSource.of(stream)).size());
+            }
+        }
+    }
+
+    @Test
+    public void testReadEmployees_MetricsCountRowsCellsAndErrors() throws Exception {
+        tempFile = File.createTempFile("testMetrics", ".xlsx");
+        try (FileOutputStream fos = new FileOutputStream(tempFile);
+                Workbook workbook = new XSSFWorkbook()) {
+            Sheet sheet = workbook.createSheet();
+
+            for (int i = 0; i < XlsxReaderService.HEADER_ROWS_TO_SKIP; i++) {
+                sheet.createRow(i);
+            }
+
+            for (int i = 0; i < 3; i++) {
+                Row row = sheet.createRow(XlsxReaderService.HEADER_ROWS_TO_SKIP + i);
+                row.createCell(XlsxReaderService.ID_COL).setCellValue(i + 1);
+                row.createCell(XlsxReaderService.COMPANY_NAME_COL).setCellValue("Company " + i);
+                row.createCell(XlsxReaderService.COMPANY_TYPE_COL).setCellValue(i == 2 ? "LLC" : "SARS");
+                row.createCell(XlsxReaderService.IBAN_COL).setCellValue("some-iban");
+                row.createCell(XlsxReaderService.BIC_COL).setCellValue("some-bic");
+                row.createCell(XlsxReaderService.ACCOUNT_HOLDER_COL).setCellValue("Some Holder");
+            }
+
+            workbook.write(fos);
+        }
+
+        for (ReadMode readMode : ReadMode.values()) {
+            XlsxReaderService reader = new XlsxReaderService(readMode);
+            ReadMetrics metrics = new ReadMetrics();
+            reader.setMetrics(metrics);
+
+            assertThrows(ExcelParsingException.class, () -> reader.readEmployees(tempFile.getAbsolutePath()));
+
+            assertEquals(1, metrics.getReads());
+            assertEquals(3, metrics.getRows());
+            assertEquals(3, metrics.getCellsByType().get("NUMERIC"));
+            assertEquals(15, metrics.getCellsByType().get("STRING"));
+            assertEquals(Map.of("Invalid company type on row: #", 1L), metrics.getErrorsByKind());
+            assertTrue(metrics.getRowsPerSecond() > 0);
+        }
+    }
+
+    @Test
+    public void testReadEmployeesLenient_CollectsErrorsAndKeepsGoodRows() throws Exception {
+        tempFile = File.createTempFile("testLenient", ".xlsx");
+        try (FileOutputStream fos = new FileOutputStream(tempFile);
+                Workbook workbook = new XSSFWorkbook()) {
+            Sheet sheet = workbook.createSheet();
+
+            for (int i = 0; i < XlsxReaderService.HEADER_ROWS_TO_SKIP; i++) {
+                sheet.createRow(i);
+            }
+
+            for (int i = 0; i < 6; i++) {
+                Row row = sheet.createRow(XlsxReaderService.HEADER_ROWS_TO_SKIP + i);
+                row.createCell(XlsxReaderService.ID_COL).setCellValue(i + 1);
+                row.createCell(XlsxReaderService.COMPANY_NAME_COL).setCellValue("Company " + i);
+                row.createCell(XlsxReaderService.COMPANY_TYPE_COL).setCellValue(i == 1 ? "LLC" : "SARS");
+                row.createCell(XlsxReaderService.IBAN_COL).setCellValue("some-iban");
+                if (i != 3)
+                    row.createCell(XlsxReaderService.BIC_COL).setCellValue("some-bic");
+                row.createCell(XlsxReaderService.ACCOUNT_HOLDER_COL).setCellValue("Some Holder");
+            }
+
+            workbook.write(fos);
+        }
+
+        for (ReadMode readMode : ReadMode.values()) {
+            XlsxReaderService reader = new XlsxReaderService(readMode);
+
+            ReadResult result = reader.readEmployeesLenient(tempFile.getAbsolutePath(), 1);
+
+            List<Long> ids = new ArrayList<>();
+            result.getEmployees().forEach(employee -> ids.add(employee.getId()));
+            assertEquals(List.of(1L, 3L, 5L, 6L), ids);
+
+            ErrorReport errors = result.getErrors();
+            assertEquals(2, errors.getTotal());
+            assertTrue(errors.isTruncated());
+            RowError error = errors.getErrors().get(0);
+            assertEquals(XlsxReaderService.HEADER_ROWS_TO_SKIP + 1, error.getRowNum());
+            assertEquals(XlsxReaderService.COMPANY_TYPE_COL, error.getColumnIndex());
+            assertTrue(error.getMessage().startsWith("Invalid company type"));
+        }
+    }
+
+    @Test
+    public void testReadEmployeesLenient_BadIdCellIsARowError() throws Exception {
+        tempFile = File.createTempFile("testLenientBadId", ".xlsx");
+        try (FileOutputStream fos = new FileOutputStream(tempFile);
+                Workbook workbook = new XSSFWorkbook()) {
+            Sheet sheet = workbook.createSheet();
+
+            for (int i = 0; i < XlsxReaderService.HEADER_ROWS_TO_SKIP; i++) {
+                sheet.createRow(i);
+            }
+
+            for (int i = 0; i < 3; i++) {
+                Row row = sheet.createRow(XlsxReaderService.HEADER_ROWS_TO_SKIP + i);
+                if (i == 1) {
+                    row.createCell(XlsxReaderService.ID_COL).setCellValue("X7");
+                } else {
+                    row.createCell(XlsxReaderService.ID_COL).setCellValue(i + 1);
+                }
+                row.createCell(XlsxReaderService.COMPANY_NAME_COL).setCellValue("Company " + i);
+                row.createCell(XlsxReaderService.COMPANY_TYPE_COL).setCellValue("SARS");
+                row.createCell(XlsxReaderService.IBAN_COL).setCellValue("some-iban");
+                row.createCell(XlsxReaderService.BIC_COL).setCellValue("some-bic");
+                row.createCell(XlsxReaderService.ACCOUNT_HOLDER_COL).setCellValue("Some Holder");
+            }
+
+            workbook.write(fos);
+        }
+
+        for (ReadMode readMode : ReadMode.values()) {
+            XlsxReaderService reader = new XlsxReaderService(readMode);
+
+            ReadResult result = reader.readEmployeesLenient(tempFile.getAbsolutePath(), 10);
+            assertEquals(2, result.getEmployees().size());
+            assertEquals(3, result.getEmployees().get(1).getId());
+            RowError error = result.getErrors().getErrors().get(0);
+            assertEquals(XlsxReaderService.HEADER_ROWS_TO_SKIP + 1, error.getRowNum());
+            assertEquals(XlsxReaderService.ID_COL, error.getColumnIndex());
+
+            ExcelParsingException e = assertThrows(ExcelParsingException.class, () -> {
+                reader.readEmployees(tempFile.getAbsolutePath());
+            });
+            assertTrue(e.getMessage().startsWith("Error processing row: " + (XlsxReaderService.HEADER_ROWS_TO_SKIP + 1)));
+        }
+    }
+
+    @Test
+    public void testReadSheets_ConcurrentAndTaggedBySheet() throws Exception {
+        tempFile = File.createTempFile("testReadSheets", ".xlsx");
+        try (FileOutputStream fos = new FileOutputStream(tempFile);
+                Workbook workbook = new XSSFWorkbook()) {
+            String[] names = { "North", "South", "East" };
+            for (int s = 0; s < names.length; s++) {
+                Sheet sheet = workbook.createSheet(names[s]);
+
+                for (int i = 0; i < XlsxReaderService.HEADER_ROWS_TO_SKIP; i++) {
+                    sheet.createRow(i);
+                }
+
+                for (int i = 0; i <= s; i++) {
+                    Row row = sheet.createRow(XlsxReaderService.HEADER_ROWS_TO_SKIP + i);
+                    row.createCell(XlsxReaderService.ID_COL).setCellValue(s * 100 + i + 1);
+                    row.createCell(XlsxReaderService.COMPANY_NAME_COL).setCellValue(names[s] + " " + i);
+                    row.createCell(XlsxReaderService.COMPANY_TYPE_COL).setCellValue("SARS");
+                    row.createCell(XlsxReaderService.IBAN_COL).setCellValue("some-iban");
+                    row.createCell(XlsxReaderService.BIC_COL).setCellValue("some-bic");
+                    row.createCell(XlsxReaderService.ACCOUNT_HOLDER_COL).setCellValue("Some Holder");
+                }
+            }
+
+            workbook.write(fos);
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(3);
+        try {
+            for (ReadMode readMode : ReadMode.values()) {
+                XlsxReaderService reader = new XlsxReaderService(readMode);
+                assertEquals(List.of("North", "South", "East"), reader.getSheetNames(tempFile.getAbsolutePath()));
+
+                Map<String, List<Employee>> all = reader.readSheets(
+                        tempFile.getAbsolutePath(), SheetSelection.ALL, executor);
+                assertEquals(List.of("North", "South", "East"), new ArrayList<>(all.keySet()));
+                assertEquals(3, all.get("East").size());
+                assertEquals(102, all.get("South").get(1).getId());
+                assertEquals("East 2", ((Company) all.get("East").get(2)).getName());
+
+                Map<String, List<Employee>> selected = reader.readSheets(
+                        tempFile.getAbsolutePath(), SheetSelection.parse("East,0"), executor);
+                assertEquals(List.of("East", "North"), new ArrayList<>(selected.keySet()));
+
+                ExcelParsingException e = assertThrows(ExcelParsingException.class, () -> {
+                    reader.readSheets(tempFile.getAbsolutePath(), SheetSelection.of("West"), executor);
+                });
+                assertEquals("Sheet not found: West", e.getMessage());
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void testQuery_MixedIndividualAndCompanyFiltersThrow() {
+        assertThrows(IllegalStateException.class, () -> EmployeeQuery.all().ageBetween(0, 19).companies());
+        assertThrows(IllegalStateException.class, () -> EmployeeQuery.all().hasChildren(true)
+                .companyTypes(CompanyType.SARL));
+        assertThrows(IllegalStateException.class, () -> EmployeeQuery.all().companyTypes(CompanyType.SARS)
+                .individuals());
+        assertDoesNotThrow(() -> EmployeeQuery.all().individuals().ageBetween(0, 19).hasChildren(false));
+        assertDoesNotThrow(() -> EmployeeQuery.all().companies().companyTypes(CompanyType.SARL));
+    }
+
+    @Test
+    public void testQuery_FiltersOnRawCellsAndProjectsFields() throws Exception {
+        tempFile = File.createTempFile("testQuery", ".xlsx");
+        try (FileOutputStream fos = new FileOutputStream(tempFile);
+                Workbook workbook = new XSSFWorkbook()) {
+            Sheet sheet = workbook.createSheet();
+
+            for (int i = 0; i < XlsxReaderService.HEADER_ROWS_TO_SKIP; i++) {
+                sheet.createRow(i);
+            }
+
+            int[] ages = { 15, 25, 18 };
+            for (int i = 0; i < ages.length; i++) {
+                Row row = sheet.createRow(XlsxReaderService.HEADER_ROWS_TO_SKIP + i);
+                row.createCell(XlsxReaderService.ID_COL).setCellValue(i + 1);
+                row.createCell(XlsxReaderService.EMAIL_COL).setCellValue("person" + i + "@example.com");
+                row.createCell(XlsxReaderService.FIRST_NAME_COL).setCellValue("First" + i);
+                row.createCell(XlsxReaderService.LAST_NAME_COL).setCellValue("Last" + i);
+                row.createCell(XlsxReaderService.HAS_CHILDREN_COL).setCellValue(i == 2);
+                row.createCell(XlsxReaderService.AGE_COL).setCellValue(ages[i]);
+                // no bank account: a full read fails, a query that does not project it does not
+            }
+
+            String[] types = { "SARL", "SARS" };
+            for (int i = 0; i < types.length; i++) {
+                Row row = sheet.createRow(XlsxReaderService.HEADER_ROWS_TO_SKIP + ages.length + i);
+                row.createCell(XlsxReaderService.ID_COL).setCellValue(ages.length + i + 1);
+                row.createCell(XlsxReaderService.COMPANY_NAME_COL).setCellValue("Company " + i);
+                row.createCell(XlsxReaderService.COMPANY_TYPE_COL).setCellValue(types[i]);
+                row.createCell(XlsxReaderService.IBAN_COL).setCellValue("some-iban");
+                row.createCell(XlsxReaderService.BIC_COL).setCellValue("some-bic");
+                row.createCell(XlsxReaderService.ACCOUNT_HOLDER_COL).setCellValue("Some Holder");
+            }
+
+            workbook.write(fos);
+        }
+
+        for (ReadMode readMode : ReadMode.values()) {
+            XlsxReaderService reader = new XlsxReaderService(readMode);
+            assertThrows(ExcelParsingException.class, () -> reader.readEmployees(tempFile.getAbsolutePath()));
+
+            List<Employee> under20 = reader.query(tempFile.getAbsolutePath(), EmployeeQuery.all()
+                    .ageBetween(0, 19)
+                    .fields(EmployeeField.FIRST_NAME, EmployeeField.LAST_NAME));
+            assertEquals(2, under20.size());
+            Individual first = (Individual) under20.get(0);
+            assertEquals(1, first.getId());
+            assertEquals("First0", first.getFirstName());
+            assertEquals("Last0", first.getLastName());
+            assertNull(first.getEmail());
+            assertNull(first.getBankAccount());
+            assertEquals(3, under20.get(1).getId());
+
+            List<Employee> withChildren = reader.query(tempFile.getAbsolutePath(), EmployeeQuery.all()
+                    .hasChildren(true)
+                    .fields(EmployeeField.AGE, EmployeeField.EMAIL));
+            assertEquals(1, withChildren.size());
+            assertEquals(18, ((Individual) withChildren.get(0)).getAge());
+            assertEquals("person2@example.com", withChildren.get(0).getEmail());
+
+            List<Employee> sarl = reader.query(tempFile.getAbsolutePath(), EmployeeQuery.all()
+                    .companyTypes(CompanyType.SARL));
+            assertEquals(1, sarl.size());
+            Company company = (Company) sarl.get(0);
+            assertEquals("Company 0", company.getName());
+            assertEquals("some-bic", company.getBankAccount().getBic());
+        }
+    }
+
+    @Test
+    public void testForEachEmployeePipelined_ErrorInParserOrWorkerDoesNotHang() throws Exception {
+        tempFile = new SyntheticWorkbook(500).create().toFile();
+        PipelineOptions options = new PipelineOptions(2, 16, 2);
+
+        XlsxReaderService workerError = new XlsxReaderService(ReadMode.STREAMING);
+        workerError.setMetrics(new ReadMetrics() {
+            @Override
+            void recordConvert(long nanos) {
+                throw new OutOfMemoryError("worker");
+            }
+        });
+        XlsxReaderService parserError = new XlsxReaderService(ReadMode.STREAMING);
+        parserError.setMetrics(new ReadMetrics() {
+            @Override
+            void recordRow(SheetRow row, int columnCount) {
+                if (row.getRowNum() == 100)
+                    throw new OutOfMemoryError("parser");
+            }
+        });
+
+        assertTimeoutPreemptively(Duration.ofSeconds(30), () -> {
+            Error e = assertThrows(OutOfMemoryError.class, () -> {
+                workerError.forEachEmployeePipelined(tempFile.getAbsolutePath(), options, employee -> {
+                });
+            });
+            assertEquals("worker", e.getMessage());
+            e = assertThrows(OutOfMemoryError.class, () -> {
+                parserError.forEachEmployeePipelined(tempFile.getAbsolutePath(), options, employee -> {
+                });
+            });
+            assertEquals("parser", e.getMessage());
+        });
+    }
+
+    @Test
+    public void testForEachBatchPipelined_InOrderAndFailsAtFirstBadRow() throws Exception {
+        tempFile = File.createTempFile("testPipelined", ".xlsx");
+        try (FileOutputStream fos = new FileOutputStream(tempFile);
+                Workbook workbook = new XSSFWorkbook()) {
+            Sheet sheet = workbook.createSheet();
+
+            for (int i = 0; i < XlsxReaderService.HEADER_ROWS_TO_SKIP; i++) {
+                sheet.createRow(i);
+            }
+
+            for (int i = 0; i < 100; i++) {
+                Row row = sheet.createRow(XlsxReaderService.HEADER_ROWS_TO_SKIP + i);
+                row.createCell(XlsxReaderService.ID_COL).setCellValue(i + 1);
+                row.createCell(XlsxReaderService.COMPANY_NAME_COL).setCellValue("Company " + i);
+                row.createCell(XlsxReaderService.COMPANY_TYPE_COL).setCellValue(i == 90 ? "LLC" : "SARS");
+                row.createCell(XlsxReaderService.IBAN_COL).setCellValue("some-iban");
+                row.createCell(XlsxReaderService.BIC_COL).setCellValue("some-bic");
+                row.createCell(XlsxReaderService.ACCOUNT_HOLDER_COL).setCellValue("Some Holder");
+            }
+
+            workbook.write(fos);
+        }
+
+        PipelineOptions options = new PipelineOptions(3, 7, 2);
+        for (ReadMode readMode : ReadMode.values()) {
+            XlsxReaderService reader = new XlsxReaderService(readMode);
+
+            List<Long> ids = new ArrayList<>();
+            List<Integer> batchSizes = new ArrayList<>();
+            ExcelParsingException e = assertThrows(ExcelParsingException.class, () -> {
+                reader.forEachBatchPipelined(tempFile.getAbsolutePath(), options, batch -> {
+                    batchSizes.add(batch.size());
+                    batch.forEach(employee -> ids.add(employee.getId()));
+                });
+            });
+
+            assertTrue(e.getMessage().contains("row: " + (XlsxReaderService.HEADER_ROWS_TO_SKIP + 90)));
+            assertEquals(84, ids.size());
+            for (int i = 0; i < ids.size(); i++) {
+                assertEquals(i + 1, ids.get(i));
+            }
+            assertTrue(batchSizes.stream().allMatch(size -> size == 7));
+        }
+    }
+
+    @Test
+    public void testReadEmployeesLenient_SyntheticWorkbook() throws Exception {
+        SyntheticWorkbook workbook = new SyntheticWorkbook(3_000).malformedEvery(100).blankEvery(7);
+        tempFile = workbook.create().toFile();
+
+        for (ReadMode readMode : ReadMode.values()) {
+            ReadResult result = new XlsxReaderService(readMode).readEmployeesLenient(tempFile.getAbsolutePath(), 10);
+
+            assertEquals(30, workbook.getMalformedRows());
+            assertEquals(30, result.getErrors().getTotal());
+            assertEquals(2_970, result.getEmployees().size());
+            Employee blank = result.getEmployees().get(6);
+            assertEquals(7, blank.getId());
+            assertNull(blank.getEmail());
+            assertNull(blank.getPhone());
+            assertEquals("33600000000", result.getEmployees().get(0).getPhone());
+        }
+    }
+
+    @Test
+    public void testEmployeeValidator_Checks() {
+        assertTrue(EmployeeValidator.isValidIban("GB82WEST12345698765432"));
+        assertTrue(EmployeeValidator.isValidIban("DE89 3704 0044 0532 0130 00"));
+        assertFalse(EmployeeValidator.isValidIban("GB82WEST12345698765431"));
+        assertFalse(EmployeeValidator.isValidIban("GB8WEST12345698765432"));
+        assertFalse(EmployeeValidator.isValidIban("GB82-WEST-1234"));
+        assertFalse(EmployeeValidator.isValidIban("some-iban"));
+
+        assertTrue(EmployeeValidator.isValidBic("DEUTDEFF"));
+        assertTrue(EmployeeValidator.isValidBic("DEUTDEFF500"));
+        assertFalse(EmployeeValidator.isValidBic("DEUTDE"));
+        assertFalse(EmployeeValidator.isValidBic("deutdeff"));
+
+        assertTrue(EmployeeValidator.isValidEmail("john.doe+tag@mail.example.com"));
+        assertFalse(EmployeeValidator.isValidEmail("john@localhost"));
+        assertFalse(EmployeeValidator.isValidEmail("john doe@example.com"));
+        assertFalse(EmployeeValidator.isValidEmail("john@@example.com"));
+        assertFalse(EmployeeValidator.isValidEmail("john@example..com"));
+        assertFalse(EmployeeValidator.isValidEmail("john@-example.com"));
+    }
+
+    @Test
+    public void testValidator_FailsStrictAndReportsLenient() throws Exception {
+        tempFile = File.createTempFile("testValidator", ".xlsx");
+        try (FileOutputStream fos = new FileOutputStream(tempFile);
+                Workbook workbook = new XSSFWorkbook()) {
+            Sheet sheet = workbook.createSheet();
+
+            for (int i = 0; i < XlsxReaderService.HEADER_ROWS_TO_SKIP; i++) {
+                sheet.createRow(i);
+            }
+
+            String[] ibans = { "GB82WEST12345698765432", "GB82WEST12345698765431", "DE89370400440532013000" };
+            int[] ages = { 30, 40, 150 };
+            for (int i = 0; i < ibans.length; i++) {
+                Row row = sheet.createRow(XlsxReaderService.HEADER_ROWS_TO_SKIP + i);
+                row.createCell(XlsxReaderService.ID_COL).setCellValue(i + 1);
+                row.createCell(XlsxReaderService.EMAIL_COL).setCellValue("person" + i + "@example.com");
+                row.createCell(XlsxReaderService.FIRST_NAME_COL).setCellValue("First" + i);
+                row.createCell(XlsxReaderService.LAST_NAME_COL).setCellValue("Last" + i);
+                row.createCell(XlsxReaderService.HAS_CHILDREN_COL).setCellValue(false);
+                row.createCell(XlsxReaderService.AGE_COL).setCellValue(ages[i]);
+                row.createCell(XlsxReaderService.IBAN_COL).setCellValue(ibans[i]);
+                row.createCell(XlsxReaderService.BIC_COL).setCellValue("DEUTDEFF");
+                row.createCell(XlsxReaderService.ACCOUNT_HOLDER_COL).setCellValue("Some Holder");
+            }
+
+            workbook.write(fos);
+        }
+
+        for (ReadMode readMode : ReadMode.values()) {
+            XlsxReaderService reader = new XlsxReaderService(readMode);
+            assertEquals(3, reader.readEmployees(tempFile.getAbsolutePath()).size());
+
+            reader.setValidator(EmployeeValidator.standard());
+            ExcelParsingException e = assertThrows(ExcelParsingException.class, () -> {
+                reader.readEmployees(tempFile.getAbsolutePath());
+            });
+            assertEquals("Error processing row: 4 - Invalid IBAN on row: 4", e.getMessage());
+
+            ReadResult result = reader.readEmployeesLenient(tempFile.getAbsolutePath(), 10);
+            assertEquals(1, result.getEmployees().size());
+            List<RowError> errors = result.getErrors().getErrors();
+            assertEquals(2, errors.size());
+            assertEquals(XlsxReaderService.IBAN_COL, errors.get(0).getColumnIndex());
+            assertEquals(XlsxReaderService.AGE_COL, errors.get(1).getColumnIndex());
+            assertEquals("Age out of range on row: 5", errors.get(1).getMessage());
+
+            reader.setValidator(EmployeeValidator.standard().skip(EmployeeField.IBAN).ageBetween(18, 160));
+            assertEquals(3, reader.readEmployees(tempFile.getAbsolutePath()).size());
+
+            // a query only has the fields it reads checked
+            reader.setValidator(EmployeeValidator.standard());
+            assertEquals(3, reader.query(tempFile.getAbsolutePath(),
+                    EmployeeQuery.all().fields(EmployeeField.FIRST_NAME)).size());
+            ExcelParsingException queryError = assertThrows(ExcelParsingException.class, () -> {
+                reader.query(tempFile.getAbsolutePath(), EmployeeQuery.all().fields(EmployeeField.IBAN));
+            });
+            assertEquals("Error processing row: 4 - Invalid IBAN on row: 4", queryError.getMessage());
+            queryError = assertThrows(ExcelParsingException.class, () -> {
+                reader.query(tempFile.getAbsolutePath(), EmployeeQuery.all().ageBetween(100, 200));
+            });
+            assertEquals("Error processing row: 5 - Age out of range on row: 5", queryError.getMessage());
+        }
+    }
 }
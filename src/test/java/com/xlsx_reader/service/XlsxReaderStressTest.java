@@ -0,0 +1,140 @@
+package com.xlsx_reader.service;
+
+import com.sun.management.GarbageCollectionNotificationInfo;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import javax.management.Notification;
+import javax.management.NotificationEmitter;
+import javax.management.NotificationListener;
+import javax.management.openmbean.CompositeData;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.lang.management.MemoryUsage;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// only run with the stress profile, which also caps the heap: mvn -Pstress test
+@Tag("stress")
+public class XlsxReaderStressTest {
+
+    private static final long MB = 1 << 20;
+
+    private Path file;
+
+    @AfterEach
+    public void cleanup() throws Exception {
+        if (file != null) {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Test
+    public void testStreaming_MillionRowsInConstantMemory() throws Exception {
+        SyntheticWorkbook workbook = new SyntheticWorkbook(1_000_000)
+                .malformedEvery(10_000)
+                .blankEvery(7)
+                .sharedStrings(false);
+        file = workbook.create();
+
+        assertLenientRead(ReadMode.STREAMING, workbook, 1_000_000, 96 * MB, TimeUnit.SECONDS.toNanos(120));
+    }
+
+    @Test
+    public void testStreaming_SharedStrings() throws Exception {
+        SyntheticWorkbook workbook = new SyntheticWorkbook(100_000).malformedEvery(1_000).blankEvery(7);
+        file = workbook.create();
+
+        // the shared-strings table, about 200k distinct strings here, is kept for the whole read
+        assertLenientRead(ReadMode.STREAMING, workbook, 100_000, 128 * MB, TimeUnit.SECONDS.toNanos(30));
+    }
+
+    @Test
+    public void testDom_TwentyThousandRows() throws Exception {
+        // the whole workbook is held as XMLBeans objects, several KB per row
+        SyntheticWorkbook workbook = new SyntheticWorkbook(20_000).malformedEvery(1_000).blankEvery(7);
+        file = workbook.create();
+
+        assertLenientRead(ReadMode.DOM, workbook, 20_000, 384 * MB, TimeUnit.SECONDS.toNanos(60));
+    }
+
+    private void assertLenientRead(ReadMode readMode, SyntheticWorkbook workbook, int rows,
+            long maxLiveHeap, long maxNanos) throws Exception {
+        XlsxReaderService reader = new XlsxReaderService(readMode);
+        // only counts, so whatever stays reachable is held by the reader itself
+        LongAdder employees = new LongAdder();
+        ErrorReport errors = new ErrorReport(100);
+
+        long liveHeap;
+        long elapsed;
+        try (LiveHeap heap = new LiveHeap()) {
+            long start = System.nanoTime();
+            reader.forEachEmployee(WorkbookSource.of(file), errors, employee -> employees.increment());
+            elapsed = System.nanoTime() - start;
+            liveHeap = heap.getPeak();
+        }
+
+        assertEquals(workbook.getMalformedRows(), errors.getTotal());
+        assertEquals(rows - workbook.getMalformedRows(), employees.sum());
+        assertTrue(elapsed <= maxNanos, readMode + " read of " + rows + " rows took "
+                + TimeUnit.NANOSECONDS.toMillis(elapsed) + " ms");
+        assertTrue(liveHeap <= maxLiveHeap, readMode + " read of " + rows + " rows kept "
+                + liveHeap / MB + " MB live");
+    }
+
+    // the largest heap in use right after any collection during the read, which is what the
+    // reader keeps reachable rather than how much garbage it leaves between collections
+    private static final class LiveHeap implements NotificationListener, AutoCloseable {
+        private final Set<String> heapPools = new HashSet<>();
+        private final AtomicLong peak = new AtomicLong();
+
+        LiveHeap() {
+            for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+                if (pool.getType() == MemoryType.HEAP)
+                    heapPools.add(pool.getName());
+            }
+            System.gc();
+            for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+                ((NotificationEmitter) gc).addNotificationListener(this, null, null);
+            }
+        }
+
+        @Override
+        public void handleNotification(Notification notification, Object handback) {
+            if (!notification.getType().equals(GarbageCollectionNotificationInfo.GARBAGE_COLLECTION_NOTIFICATION))
+                return;
+            GarbageCollectionNotificationInfo info =
+                    GarbageCollectionNotificationInfo.from((CompositeData) notification.getUserData());
+            long used = 0;
+            for (Map.Entry<String, MemoryUsage> pool : info.getGcInfo().getMemoryUsageAfterGc().entrySet()) {
+                if (heapPools.contains(pool.getKey()))
+                    used += pool.getValue().getUsed();
+            }
+            peak.accumulateAndGet(used, Math::max);
+        }
+
+        long getPeak() {
+            // also covers a read short enough to finish between two collections
+            return Math.max(peak.get(),
+                    ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed());
+        }
+
+        @Override
+        public void close() throws Exception {
+            for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+                ((NotificationEmitter) gc).removeNotificationListener(this);
+            }
+        }
+    }
+}
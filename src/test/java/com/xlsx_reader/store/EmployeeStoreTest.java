@@ -0,0 +1,105 @@
+package com.xlsx_reader.store;
+
+import com.xlsx_reader.domain.BankAccount;
+import com.xlsx_reader.domain.Company;
+import com.xlsx_reader.domain.CompanyType;
+import com.xlsx_reader.domain.Employee;
+import com.xlsx_reader.domain.Individual;
+import com.xlsx_reader.summary.EmployeeSummary;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class EmployeeStoreTest {
+
+    private final BankAccount bankAccount = new BankAccount("some-iban", "some-bic", "Some Holder");
+
+    @Test
+    public void testStore_ViewsAndAggregates() {
+        EmployeeStore.Builder builder = new EmployeeStore.Builder();
+        for (int i = 0; i < 3000; i++) {
+            if (i % 3 == 0) {
+                builder.accept(new Company(i + 1, "c" + i + "@example.com", "0600", "1 Main St", bankAccount,
+                        "Company " + i, i % 2 == 0 ? CompanyType.SARS : CompanyType.SARL));
+            } else {
+                builder.accept(new Individual(i + 1, "i" + i + "@example.com", "0600", "1 Main St", bankAccount,
+                        "First" + i, "Last" + i, i % 2 == 0, 10 + i % 40));
+            }
+        }
+        EmployeeStore store = builder.build();
+
+        assertEquals(3000, store.size());
+        assertEquals(1000, store.countCompanies());
+        assertEquals(2000, store.countIndividuals());
+        assertEquals(500, store.countCompanies(CompanyType.SARS));
+
+        EmployeeView view = store.view().moveTo(1);
+        assertTrue(view.isIndividual());
+        assertEquals(2, view.getId());
+        assertEquals("First1", view.getFirstName());
+        assertEquals(11, view.getAge());
+        assertEquals("some-bic", view.getBic());
+        assertNull(view.getType());
+
+        Company company = (Company) store.get(3);
+        assertEquals("Company 3", company.getName());
+        assertEquals(CompanyType.SARL, company.getType());
+        assertEquals("Some Holder", company.getBankAccount().getAccountHolder());
+    }
+
+    @Test
+    public void testStore_UniqueColumnsStoredRaw(@TempDir Path tempDir) throws Exception {
+        EmployeeStore.Builder builder = new EmployeeStore.Builder();
+        for (int i = 0; i < 100; i++) {
+            builder.accept(new Individual(i + 1, "i" + i + "@example.com", "0600", "1 Main St", bankAccount,
+                    "First" + i % 5, "Last" + i, false, 30));
+        }
+        EmployeeStore store = builder.build();
+
+        assertTrue(store.emails.isRaw());
+        assertFalse(store.phones.isRaw());
+        assertFalse(store.firstNames.isRaw());
+        assertFalse(store.companyNames.isRaw());
+        assertNull(store.companyNames.get(0));
+
+        Path file = tempDir.resolve("store.emp");
+        EmployeeStoreCodec.write(store, file);
+        EmployeeStore read = EmployeeStoreCodec.read(file);
+
+        assertEquals(store.distinctStrings(), read.distinctStrings());
+        Individual individual = (Individual) read.get(7);
+        assertEquals("Last7", individual.getLastName());
+        assertEquals("First2", individual.getFirstName());
+        assertEquals("some-iban", individual.getBankAccount().getIban());
+        assertEquals("i42@example.com", read.view().moveTo(42).getEmail());
+        assertNull(read.view().moveTo(42).getName());
+    }
+
+    @Test
+    public void testSummary_MatchesObjectPath() {
+        List<Employee> employees = List.of(
+                new Individual(1, "a@example.com", "1", "addr", bankAccount, "John", "Doe", true, 30),
+                new Individual(2, "b@example.com", "2", "addr", bankAccount, "Ann", "Lee", false, 19),
+                new Company(3, "c@example.com", "3", "addr", bankAccount, "Company Inc", CompanyType.SARS));
+
+        EmployeeStore.Builder builder = new EmployeeStore.Builder();
+        EmployeeSummary expected = new EmployeeSummary();
+        for (Employee employee : employees) {
+            builder.accept(employee);
+            expected.accept(employee);
+        }
+
+        EmployeeSummary actual = new EmployeeSummary();
+        actual.accept(builder.build());
+
+        assertEquals(expected.getEmployeeCount(), actual.getEmployeeCount());
+        assertEquals(expected.getIndividualCount(), actual.getIndividualCount());
+        assertEquals(expected.getCompanyCount(), actual.getCompanyCount());
+        assertEquals(expected.getIndividualsUnder20(), actual.getIndividualsUnder20());
+        assertEquals(expected.getIndividualNames(), actual.getIndividualNames());
+    }
+}
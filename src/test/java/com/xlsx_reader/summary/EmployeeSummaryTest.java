@@ -0,0 +1,87 @@
+package com.xlsx_reader.summary;
+
+import com.xlsx_reader.domain.BankAccount;
+import com.xlsx_reader.domain.Company;
+import com.xlsx_reader.domain.CompanyType;
+import com.xlsx_reader.domain.Individual;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class EmployeeSummaryTest {
+
+    private final BankAccount bankAccount = new BankAccount("some-iban", "some-bic", "Some Holder");
+
+    @Test
+    public void testSinglePassCounts() {
+        EmployeeSummary summary = new EmployeeSummary();
+        summary.accept(new Individual(1, "a@example.com", "1", "addr", bankAccount, "John", "Doe", true, 30));
+        summary.accept(new Individual(2, "b@example.com", "2", "addr", bankAccount, "Ann", "Lee", false, 19));
+        summary.accept(new Company(3, "c@example.com", "3", "addr", bankAccount, "Company Inc", CompanyType.SARS));
+
+        assertEquals(3, summary.getEmployeeCount());
+        assertEquals(2, summary.getIndividualCount());
+        assertEquals(1, summary.getCompanyCount());
+        assertEquals(1, summary.getIndividualsUnder20());
+        assertEquals(List.of("John Doe", "Ann Lee"), summary.getIndividualNames());
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        summary.print(new PrintStream(out, true));
+        assertEquals(String.join(System.lineSeparator(),
+                "Total employees: 3",
+                "Total individuals: 2",
+                "Total companies: 1",
+                "Total individuals under 20: 1",
+                "Names and surnames of employees:",
+                "John Doe",
+                "Ann Lee",
+                ""), out.toString());
+    }
+
+    @Test
+    public void testNameLimit_CountsUnlistedNames() {
+        EmployeeSummary summary = new EmployeeSummary().limitNames(2);
+        EmployeeSummary other = summary.empty();
+        for (int i = 0; i < 3; i++) {
+            summary.accept(new Individual(i, "a@example.com", "1", "addr", bankAccount, "First" + i, "Last", true, 30));
+            other.accept(new Individual(10 + i, "b@example.com", "2", "addr", bankAccount, "Other" + i, "Last", true, 30));
+        }
+        assertEquals(List.of("Other0 Last", "Other1 Last"), other.getIndividualNames());
+        assertEquals(1, other.getUnlistedNames());
+
+        summary.merge(other);
+
+        assertEquals(6, summary.getIndividualCount());
+        assertEquals(List.of("First0 Last", "First1 Last"), summary.getIndividualNames());
+        assertEquals(4, summary.getUnlistedNames());
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        summary.print(new PrintStream(out, true));
+        assertTrue(out.toString().endsWith(String.join(System.lineSeparator(),
+                "First1 Last", "... and 4 more", "")));
+    }
+
+    @Test
+    public void testRegisteredAggregatesAndMerge() {
+        GroupCountAggregate<CompanyType> byType = GroupCountAggregate.byCompanyType();
+        GroupCountAggregate<Integer> byAge = GroupCountAggregate.byAgeBucket(10);
+        EmployeeSummary summary = new EmployeeSummary().register(byType).register(byAge);
+        EmployeeSummary other = summary.empty();
+
+        summary.accept(new Company(1, "a@example.com", "1", "addr", bankAccount, "A", CompanyType.SARS));
+        summary.accept(new Individual(2, "b@example.com", "2", "addr", bankAccount, "Ann", "Lee", false, 19));
+        other.accept(new Company(3, "c@example.com", "3", "addr", bankAccount, "C", CompanyType.SARS));
+        other.accept(new Company(4, "d@example.com", "4", "addr", bankAccount, "D", CompanyType.SARL));
+
+        summary.merge(other);
+
+        assertEquals(4, summary.getEmployeeCount());
+        assertEquals(3, summary.getCompanyCount());
+        assertEquals(2, byType.getCount(CompanyType.SARS));
+        assertEquals(1, byType.getCount(CompanyType.SARL));
+        assertEquals(1, byAge.getCount(10));
+    }
+}